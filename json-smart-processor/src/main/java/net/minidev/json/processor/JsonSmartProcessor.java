@@ -0,0 +1,597 @@
+package net.minidev.json.processor;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generate a JsonWriterI for each class annotated with
+ * net.minidev.json.JsonSmart, and list them in
+ * META-INF/services/net.minidev.json.reader.JsonWriterProvider so new
+ * JsonWriter instances register them.
+ *
+ * A JsonReaderI, listed in
+ * META-INF/services/net.minidev.json.parser.JsonReaderProvider, is also
+ * generated for the classes the typed parse methods fill through their
+ * default constructor, if they are not generic. It binds the same properties
+ * as the reflective binding: non final fields, public ones set directly,
+ * others through their public setX() setter.
+ *
+ * The generated writer serializes the same fields as the reflective bean
+ * writer: declared fields from the class to its super classes, skipping
+ * static, transient and final ones. Public fields are read directly, other
+ * fields through their public getX() or isX() getter, fields without such
+ * getter are skipped. Final fields are kept for immutable classes built by a
+ * creator, as defined by JSONUtil.getCreator, read through a getter or an
+ * accessor named like the field.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JsonSmartProcessor extends AbstractProcessor {
+	private final static String ANNOTATION = "net.minidev.json.JsonSmart";
+	private final static String SERVICE = "META-INF/services/net.minidev.json.reader.JsonWriterProvider";
+	private final static String READER_SERVICE = "META-INF/services/net.minidev.json.parser.JsonReaderProvider";
+	private final static String SUFFIX = "_JsonSmartWriter";
+	private final static String READER_SUFFIX = "_JsonSmartReader";
+
+	/**
+	 * generated writers, for the service file
+	 */
+	private final List<String> generated = new ArrayList<String>();
+	/**
+	 * generated readers, for the reader service file
+	 */
+	private final List<String> generatedReaders = new ArrayList<String>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(ANNOTATION);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (e.getKind() != ElementKind.CLASS) {
+					error(e, "@JsonSmart can only be used on classes");
+					continue;
+				}
+				try {
+					generate((TypeElement) e);
+				} catch (IOException ex) {
+					error(e, "can not generate writer: " + ex.getMessage());
+				}
+			}
+		}
+		if (roundEnv.processingOver()) {
+			if (!generated.isEmpty())
+				writeService(SERVICE, generated);
+			if (!generatedReaders.isEmpty())
+				writeService(READER_SERVICE, generatedReaders);
+		}
+		return true;
+	}
+
+	private void error(Element e, String msg) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, e);
+	}
+
+	/**
+	 * one serialized field
+	 */
+	private static class Property {
+		final String name;
+		/**
+		 * Java expression reading the value from "value"
+		 */
+		final String read;
+		final TypeMirror type;
+
+		Property(String name, String read, TypeMirror type) {
+			this.name = name;
+			this.read = read;
+			this.type = type;
+		}
+	}
+
+	private List<Property> properties(TypeElement type) {
+		List<Property> props = new ArrayList<Property>();
+		boolean immutable = hasCreator(type);
+		TypeElement c = type;
+		while (c != null && !c.getQualifiedName().contentEquals("java.lang.Object")) {
+			List<ExecutableElement> methods = ElementFilter.methodsIn(c.getEnclosedElements());
+			for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+				Set<Modifier> m = field.getModifiers();
+				if (m.contains(Modifier.STATIC) || m.contains(Modifier.TRANSIENT))
+					continue;
+				if (m.contains(Modifier.FINAL) && !immutable)
+					continue;
+				String name = field.getSimpleName().toString();
+				if (m.contains(Modifier.PUBLIC)) {
+					props.add(new Property(name, "value." + name, field.asType()));
+					continue;
+				}
+				ExecutableElement getter = findGetter(methods, "get" + capitalize(name));
+				if (getter == null && isBoolean(field.asType()))
+					getter = findGetter(methods, "is" + capitalize(name));
+				if (getter == null && m.contains(Modifier.FINAL))
+					getter = findGetter(methods, name);
+				if (getter == null)
+					continue;
+				props.add(new Property(name, "value." + getter.getSimpleName() + "()", getter.getReturnType()));
+			}
+			TypeMirror sup = c.getSuperclass();
+			if (sup.getKind() != TypeKind.DECLARED)
+				break;
+			c = (TypeElement) ((DeclaredType) sup).asElement();
+		}
+		return props;
+	}
+
+	/**
+	 * same as JSONUtil.getCreator() != null
+	 */
+	private boolean hasCreator(TypeElement type) {
+		if (type.getModifiers().contains(Modifier.ABSTRACT) || !isImmutable(type))
+			return false;
+		for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements()))
+			if (c.getParameters().isEmpty())
+				return false;
+		List<TypeMirror> types = new ArrayList<TypeMirror>();
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			Set<Modifier> m = field.getModifiers();
+			if (m.contains(Modifier.STATIC) || m.contains(Modifier.TRANSIENT))
+				continue;
+			TypeMirror t = erasure(field.asType());
+			// records components are in field order, others need distinct types
+			if (!type.getKind().name().equals("RECORD"))
+				for (TypeMirror t2 : types)
+					if (processingEnv.getTypeUtils().isSameType(t, t2))
+						return false;
+			types.add(t);
+		}
+		for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements()))
+			if (sameParameters(c, types))
+				return true;
+		for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements()))
+			if (m.getModifiers().contains(Modifier.STATIC)
+					&& processingEnv.getTypeUtils().isSameType(erasure(m.getReturnType()), erasure(type.asType()))
+					&& sameParameters(m, types))
+				return true;
+		return false;
+	}
+
+	private boolean sameParameters(ExecutableElement e, List<TypeMirror> types) {
+		List<? extends VariableElement> params = e.getParameters();
+		if (params.size() != types.size())
+			return false;
+		for (int i = 0; i < params.size(); i++)
+			if (!processingEnv.getTypeUtils().isSameType(erasure(params.get(i).asType()), types.get(i)))
+				return false;
+		return true;
+	}
+
+	private TypeMirror erasure(TypeMirror t) {
+		return processingEnv.getTypeUtils().erasure(t);
+	}
+
+	/**
+	 * same as JSONUtil.isImmutable
+	 */
+	private static boolean isImmutable(TypeElement type) {
+		boolean found = false;
+		TypeElement c = type;
+		while (c != null && !c.getQualifiedName().contentEquals("java.lang.Object")) {
+			for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+				Set<Modifier> m = field.getModifiers();
+				if (m.contains(Modifier.STATIC) || m.contains(Modifier.TRANSIENT))
+					continue;
+				if (!m.contains(Modifier.FINAL))
+					return false;
+				found = true;
+			}
+			TypeMirror sup = c.getSuperclass();
+			if (sup.getKind() != TypeKind.DECLARED)
+				break;
+			c = (TypeElement) ((DeclaredType) sup).asElement();
+		}
+		return found;
+	}
+
+	private static ExecutableElement findGetter(List<ExecutableElement> methods, String name) {
+		for (ExecutableElement m : methods)
+			if (m.getParameters().isEmpty() && m.getSimpleName().contentEquals(name)
+					&& m.getModifiers().contains(Modifier.PUBLIC))
+				return m;
+		return null;
+	}
+
+	private boolean isBoolean(TypeMirror t) {
+		if (t.getKind() == TypeKind.BOOLEAN)
+			return true;
+		return t.toString().equals("java.lang.Boolean");
+	}
+
+	/**
+	 * same as JSONUtil.getGetterName
+	 */
+	private static String capitalize(String key) {
+		char c = key.charAt(0);
+		if (c >= 'a' && c <= 'z')
+			c += 'A' - 'a';
+		return c + key.substring(1);
+	}
+
+	private void generate(TypeElement type) throws IOException {
+		if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE && !type.getModifiers().contains(Modifier.STATIC)) {
+			error(type, "@JsonSmart nested class must be static");
+			return;
+		}
+		for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+			if (e.getModifiers().contains(Modifier.PRIVATE)) {
+				error(type, "@JsonSmart class must not be private");
+				return;
+			}
+		}
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		String pkgName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		String binary = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String base = (pkgName.length() == 0 ? binary : binary.substring(pkgName.length() + 1)).replace('$', '_');
+		String target = type.getQualifiedName().toString();
+		// generic classes are used with wildcards, not as raw types
+		String targetType = target;
+		int nbParams = type.getTypeParameters().size();
+		if (nbParams > 0) {
+			StringBuilder t = new StringBuilder(target).append('<');
+			for (int i = 0; i < nbParams; i++)
+				t.append(i == 0 ? "?" : ", ?");
+			targetType = t.append('>').toString();
+		}
+
+		String simple = base + SUFFIX;
+		StringBuilder sb = new StringBuilder();
+		if (pkgName.length() > 0)
+			sb.append("package ").append(pkgName).append(";\n\n");
+		sb.append("import java.io.IOException;\n\n");
+		sb.append("import net.minidev.json.JSONStyle;\n");
+		sb.append("import net.minidev.json.JSONValue;\n");
+		sb.append("import net.minidev.json.reader.JsonWriter;\n");
+		sb.append("import net.minidev.json.reader.JsonWriterI;\n");
+		sb.append("import net.minidev.json.reader.JsonWriterProvider;\n\n");
+		sb.append("/**\n * Generated by json-smart-processor for {@link ").append(target).append("}, do not edit.\n */\n");
+		sb.append("public final class ").append(simple).append(" implements JsonWriterI<").append(targetType)
+				.append(">, JsonWriterProvider {\n");
+		sb.append("\tpublic void registerWriters(JsonWriter writer) {\n");
+		sb.append("\t\twriter.registerWriter(this, ").append(target).append(".class);\n");
+		sb.append("\t}\n\n");
+		sb.append("\tpublic <E extends ").append(targetType)
+				.append("> void writeJSONString(E value, Appendable out, JSONStyle compression) throws IOException {\n");
+		sb.append("\t\tboolean needSep = false;\n");
+		sb.append("\t\tcompression.objectStart(out);\n");
+		for (Property p : properties(type))
+			writeProperty(sb, p);
+		sb.append("\t\tcompression.objectStop(out);\n");
+		sb.append("\t}\n");
+		sb.append("}\n");
+		generated.add(writeSource(type, pkgName, simple, sb));
+
+		List<ReadProperty> props = readProperties(type);
+		if (props != null)
+			generatedReaders.add(writeSource(type, pkgName, base + READER_SUFFIX,
+					readerSource(pkgName, base + READER_SUFFIX, target, props)));
+	}
+
+	/**
+	 * @return the qualified name of the written class
+	 */
+	private String writeSource(TypeElement type, String pkgName, String simple, StringBuilder sb) throws IOException {
+		String qualified = pkgName.length() == 0 ? simple : pkgName + "." + simple;
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(qualified, type);
+		Writer w = file.openWriter();
+		try {
+			w.write(sb.toString());
+		} finally {
+			w.close();
+		}
+		return qualified;
+	}
+
+	/**
+	 * one bound property
+	 */
+	private static class ReadProperty {
+		final String name;
+		/**
+		 * Java statement setting "value" in "bean"
+		 */
+		final String write;
+		final TypeMirror type;
+		/**
+		 * class declaring the field, to read its generic type
+		 */
+		final TypeElement owner;
+
+		ReadProperty(String name, String write, TypeMirror type, TypeElement owner) {
+			this.name = name;
+			this.write = write;
+			this.type = type;
+			this.owner = owner;
+		}
+	}
+
+	/**
+	 * same properties as the reflective BeanBinding
+	 *
+	 * @return null if the class can not have a generated reader: generic,
+	 *         abstract, built by a creator or without usable default
+	 *         constructor
+	 */
+	private List<ReadProperty> readProperties(TypeElement type) {
+		if (!type.getTypeParameters().isEmpty() || type.getModifiers().contains(Modifier.ABSTRACT))
+			return null;
+		boolean defaultConstructor = false;
+		for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements()))
+			if (c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE))
+				defaultConstructor = true;
+		if (!defaultConstructor)
+			return null;
+		List<ReadProperty> props = new ArrayList<ReadProperty>();
+		List<String> names = new ArrayList<String>();
+		TypeElement c = type;
+		while (c != null && !c.getQualifiedName().contentEquals("java.lang.Object")) {
+			List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(c));
+			for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+				Set<Modifier> m = field.getModifiers();
+				if (m.contains(Modifier.STATIC) || m.contains(Modifier.TRANSIENT) || m.contains(Modifier.FINAL))
+					continue;
+				String name = field.getSimpleName().toString();
+				if (names.contains(name))
+					continue;
+				TypeMirror t = field.asType();
+				// resolved by the reflective binding only
+				if (hasTypeVariable(t))
+					return null;
+				String cast = "(" + boxed(t) + ") value";
+				if (m.contains(Modifier.PUBLIC)) {
+					names.add(name);
+					props.add(new ReadProperty(name, "bean." + name + " = " + cast + ";", t, c));
+					continue;
+				}
+				ExecutableElement setter = findSetter(methods, "set" + capitalize(name), t, c);
+				if (setter == null)
+					continue;
+				names.add(name);
+				props.add(new ReadProperty(name, "bean." + setter.getSimpleName() + "(" + cast + ");", t, c));
+			}
+			TypeMirror sup = c.getSuperclass();
+			if (sup.getKind() != TypeKind.DECLARED)
+				break;
+			c = (TypeElement) ((DeclaredType) sup).asElement();
+		}
+		return props;
+	}
+
+	/**
+	 * public setter taking type, returning void or owner, like
+	 * BeanBinding.findSetter
+	 */
+	private ExecutableElement findSetter(List<ExecutableElement> methods, String name, TypeMirror type, TypeElement owner) {
+		for (ExecutableElement m : methods) {
+			if (!m.getSimpleName().contentEquals(name) || !m.getModifiers().contains(Modifier.PUBLIC)
+					|| m.getModifiers().contains(Modifier.STATIC) || m.getParameters().size() != 1)
+				continue;
+			if (!processingEnv.getTypeUtils().isSameType(erasure(m.getParameters().get(0).asType()), erasure(type)))
+				continue;
+			TypeMirror r = m.getReturnType();
+			if (r.getKind() == TypeKind.VOID
+					|| processingEnv.getTypeUtils().isSameType(erasure(r), erasure(owner.asType())))
+				return m;
+		}
+		return null;
+	}
+
+	private static boolean hasTypeVariable(TypeMirror t) {
+		switch (t.getKind()) {
+		case TYPEVAR:
+			return true;
+		case ARRAY:
+			return hasTypeVariable(((ArrayType) t).getComponentType());
+		case DECLARED:
+			for (TypeMirror a : ((DeclaredType) t).getTypeArguments())
+				if (hasTypeVariable(a))
+					return true;
+			return false;
+		case WILDCARD:
+			WildcardType w = (WildcardType) t;
+			return (w.getExtendsBound() != null && hasTypeVariable(w.getExtendsBound()))
+					|| (w.getSuperBound() != null && hasTypeVariable(w.getSuperBound()));
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @return the source name of t, primitives replaced by their wrapper
+	 */
+	private String boxed(TypeMirror t) {
+		if (t.getKind().isPrimitive())
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) t).getQualifiedName().toString();
+		return t.toString();
+	}
+
+	private StringBuilder readerSource(String pkgName, String simple, String target, List<ReadProperty> props) {
+		StringBuilder sb = new StringBuilder();
+		if (pkgName.length() > 0)
+			sb.append("package ").append(pkgName).append(";\n\n");
+		sb.append("import java.lang.reflect.Type;\n\n");
+		sb.append("import net.minidev.json.parser.JsonReader;\n");
+		sb.append("import net.minidev.json.parser.JsonReaderI;\n");
+		sb.append("import net.minidev.json.parser.JsonReaderProvider;\n\n");
+		sb.append("/**\n * Generated by json-smart-processor for {@link ").append(target).append("}, do not edit.\n */\n");
+		sb.append("public final class ").append(simple).append(" implements JsonReaderI<").append(target)
+				.append(">, JsonReaderProvider {\n");
+		// generic types are read once from the fields
+		boolean generic = false;
+		for (int i = 0; i < props.size(); i++) {
+			ReadProperty p = props.get(i);
+			if (isGeneric(p.type)) {
+				generic = true;
+				sb.append("\tprivate final static Type TYPE_").append(i).append(" = fieldType(")
+						.append(p.owner.getQualifiedName()).append(".class, \"").append(p.name).append("\");\n");
+			}
+		}
+		if (generic) {
+			sb.append("\n\tprivate static Type fieldType(Class<?> c, String name) {\n");
+			sb.append("\t\ttry {\n");
+			sb.append("\t\t\treturn c.getDeclaredField(name).getGenericType();\n");
+			sb.append("\t\t} catch (NoSuchFieldException e) {\n");
+			sb.append("\t\t\tthrow new IllegalStateException(e);\n");
+			sb.append("\t\t}\n");
+			sb.append("\t}\n");
+		}
+		sb.append("\n\tpublic void registerReaders(JsonReader reader) {\n");
+		sb.append("\t\treader.registerReader(this, ").append(target).append(".class);\n");
+		sb.append("\t}\n\n");
+		sb.append("\tpublic ").append(target).append(" newInstance() {\n");
+		sb.append("\t\treturn new ").append(target).append("();\n");
+		sb.append("\t}\n\n");
+		sb.append("\tpublic Type getType(String key) {\n");
+		for (int i = 0; i < props.size(); i++) {
+			ReadProperty p = props.get(i);
+			sb.append("\t\tif (key.equals(\"").append(p.name).append("\"))\n");
+			if (isGeneric(p.type))
+				sb.append("\t\t\treturn TYPE_").append(i).append(";\n");
+			else
+				sb.append("\t\t\treturn ").append(p.type).append(".class;\n");
+		}
+		sb.append("\t\treturn null;\n");
+		sb.append("\t}\n\n");
+		if (generic)
+			sb.append("\t@SuppressWarnings(\"unchecked\")\n");
+		sb.append("\tpublic void set(").append(target).append(" bean, String key, Object value) {\n");
+		for (int i = 0; i < props.size(); i++) {
+			ReadProperty p = props.get(i);
+			sb.append(i == 0 ? "\t\tif" : "\t\telse if").append(" (key.equals(\"").append(p.name).append("\"))\n");
+			sb.append("\t\t\t").append(p.write).append('\n');
+		}
+		sb.append("\t}\n");
+		sb.append("}\n");
+		return sb;
+	}
+
+	/**
+	 * @return true if t has type arguments, its class literal would lose them
+	 */
+	private boolean isGeneric(TypeMirror t) {
+		return !processingEnv.getTypeUtils().isSameType(t, erasure(t));
+	}
+
+	private void writeProperty(StringBuilder sb, Property p) {
+		TypeKind kind = p.type.getKind();
+		String indent = "\t\t";
+		sb.append(indent).append("// ").append(p.name).append('\n');
+		boolean primitive = kind.isPrimitive();
+		if (!primitive) {
+			sb.append(indent).append("{\n");
+			indent = "\t\t\t";
+			sb.append(indent).append("Object v = ").append(p.read).append(";\n");
+			sb.append(indent).append("if (v != null || !compression.ignoreNull()) {\n");
+			indent = "\t\t\t\t";
+		}
+		sb.append(indent).append("if (needSep)\n");
+		sb.append(indent).append("\tcompression.objectNext(out);\n");
+		sb.append(indent).append("else\n");
+		sb.append(indent).append("\tneedSep = true;\n");
+		sb.append(indent).append("compression.writeKey(out, \"").append(p.name).append("\");\n");
+		sb.append(indent).append("compression.objectEndOfKey(out);\n");
+		switch (kind) {
+		case LONG:
+		case INT:
+		case SHORT:
+		case BYTE:
+			sb.append(indent).append("JsonWriter.writeLong(").append(p.read).append(", out);\n");
+			break;
+		case BOOLEAN:
+			sb.append(indent).append("out.append(").append(p.read).append(" ? \"true\" : \"false\");\n");
+			break;
+		default:
+			if (primitive)
+				sb.append(indent).append("JSONValue.writeJSONString(").append(p.read)
+						.append(", out, compression);\n");
+			else if (p.type.toString().equals("java.lang.String"))
+				sb.append(indent).append("if (v == null)\n").append(indent).append("\tout.append(\"null\");\n")
+						.append(indent).append("else\n").append(indent)
+						.append("\tcompression.writeString(out, (String) v);\n");
+			else
+				sb.append(indent).append("JSONValue.writeJSONString(v, out, compression);\n");
+		}
+		sb.append(indent).append("compression.objectElmStop(out);\n");
+		if (!primitive) {
+			sb.append("\t\t\t}\n");
+			sb.append("\t\t}\n");
+		}
+	}
+
+	private void writeService(String service, List<String> names) {
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", service);
+			Writer w = file.openWriter();
+			try {
+				for (String name : names)
+					w.write(name + "\n");
+			} finally {
+				w.close();
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"can not write " + service + ": " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package net.minidev.json.processor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.JsonReader;
+import net.minidev.json.reader.JsonWriter;
+import net.minidev.json.reader.JsonWriterI;
+
+/**
+ * compile annotated sources with the processor, then use the generated
+ * writers and readers
+ */
+public class TestJsonSmartProcessor extends TestCase {
+	private final static String ITEM = "package demo;\n" //
+			+ "@net.minidev.json.JsonSmart\n" //
+			+ "public class Item extends Base {\n" //
+			+ "	public String name;\n" //
+			+ "	private boolean active = true;\n" //
+			+ "	private int hidden = 5;\n" //
+			+ "	public double ratio = 1.5;\n" //
+			+ "	public transient int skip;\n" //
+			+ "	public final int constant = 4;\n" //
+			+ "	public java.util.List<String> tags;\n" //
+			+ "	public boolean isActive() { return active; }\n" //
+			+ "	public void setActive(boolean active) { this.active = active; }\n" //
+			+ "}\n";
+	private final static String BASE = "package demo;\n" //
+			+ "public class Base {\n" //
+			+ "	public long id = 1;\n" //
+			+ "	private String secret = \"s\";\n" //
+			+ "}\n";
+	private final static String ORDER = "package demo;\n" //
+			+ "import java.util.List;\n" //
+			+ "import java.util.Map;\n" //
+			+ "@net.minidev.json.JsonSmart\n" //
+			+ "public class Order {\n" //
+			+ "	public List<Item> items;\n" //
+			+ "	public Map<Integer, String> names;\n" //
+			+ "	public int[] counts;\n" //
+			+ "	private String note;\n" //
+			+ "	public String getNote() { return note; }\n" //
+			+ "	public void setNote(String note) { this.note = \"set:\" + note; }\n" //
+			+ "}\n";
+	private final static String BOX = "package demo;\n" //
+			+ "@net.minidev.json.JsonSmart\n" //
+			+ "public class Box<T extends Number> {\n" //
+			+ "	public T value;\n" //
+			+ "	public java.util.List<T> values;\n" //
+			+ "}\n";
+	private final static String POINT = "package demo;\n" //
+			+ "@net.minidev.json.JsonSmart\n" //
+			+ "public class Point {\n" //
+			+ "	private final int x;\n" //
+			+ "	private final String label;\n" //
+			+ "	public Point(int x, String label) { this.x = x; this.label = label; }\n" //
+			+ "	public int getX() { return x; }\n" //
+			+ "	public String label() { return label; }\n" //
+			+ "}\n";
+
+	private File dir;
+
+	protected void setUp() throws Exception {
+		dir = File.createTempFile("processor", "");
+		dir.delete();
+		dir.mkdirs();
+	}
+
+	protected void tearDown() throws Exception {
+		delete(dir);
+	}
+
+	private static void delete(File f) {
+		File[] children = f.listFiles();
+		if (children != null)
+			for (File c : children)
+				delete(c);
+		f.delete();
+	}
+
+	/**
+	 * @return compiler diagnostics
+	 */
+	private List<Diagnostic<? extends JavaFileObject>> compile(String... sources) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull("tests need a JDK", compiler);
+		File src = new File(dir, "src/demo");
+		src.mkdirs();
+		List<File> files = new ArrayList<File>();
+		for (String source : sources) {
+			String name = source.substring(source.indexOf("public class ") + 13);
+			name = name.substring(0, name.indexOf(' ')).replaceAll("<.*", "");
+			File f = new File(src, name + ".java");
+			FileWriter w = new FileWriter(f);
+			w.write(source);
+			w.close();
+			files.add(f);
+		}
+		File out = new File(dir, "out");
+		out.mkdirs();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		StandardJavaFileManager fm = compiler.getStandardFileManager(diagnostics, null, null);
+		List<String> options = Arrays.asList("-Xlint:all", "-classpath", System.getProperty("java.class.path"), "-d",
+				out.getPath(), "-s", out.getPath());
+		JavaCompiler.CompilationTask task = compiler.getTask(null, fm, diagnostics, options, null,
+				fm.getJavaFileObjectsFromFiles(files));
+		task.setProcessors(Arrays.asList(new JsonSmartProcessor()));
+		task.call();
+		fm.close();
+		return diagnostics.getDiagnostics();
+	}
+
+	private ClassLoader loader() throws IOException {
+		return new URLClassLoader(new URL[] { new File(dir, "out").toURI().toURL() }, getClass().getClassLoader());
+	}
+
+	/**
+	 * @return problems reported in generated sources, or errors
+	 */
+	private static List<String> problems(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+		List<String> problems = new ArrayList<String>();
+		for (Diagnostic<? extends JavaFileObject> d : diagnostics) {
+			if (d.getKind() == Diagnostic.Kind.ERROR
+					|| (d.getSource() != null && d.getSource().getName().indexOf("_JsonSmart") >= 0))
+				problems.add(d.toString());
+		}
+		return problems;
+	}
+
+	public void testWriter() throws Exception {
+		assertEquals(new ArrayList<String>(), problems(compile(ITEM, BASE, ORDER, BOX, POINT)));
+		ClassLoader loader = loader();
+		JsonWriter writer = new JsonWriter();
+		writer.registerProviders(loader);
+		String[] classes = { "demo.Item", "demo.Order", "demo.Box" };
+		for (String name : classes) {
+			Class<?> c = loader.loadClass(name);
+			JsonWriterI<?> w = writer.getWrite(c);
+			assertNotNull(name, w);
+			assertEquals(name + "_JsonSmartWriter", w.getClass().getName());
+			// same text as the reflective writer
+			Object value = c.newInstance();
+			assertEquals(JSONValue.toJSONString(value), write(w, value));
+		}
+		Object point = loader.loadClass("demo.Point").getConstructor(Integer.TYPE, String.class).newInstance(3, "p");
+		assertEquals("{\"x\":3,\"label\":\"p\"}", write(writer.getWrite(point.getClass()), point));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String write(JsonWriterI<?> w, Object value) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		((JsonWriterI<Object>) w).writeJSONString(value, sb, JSONValue.COMPRESSION);
+		return sb.toString();
+	}
+
+	public void testReader() throws Exception {
+		assertEquals(new ArrayList<String>(), problems(compile(ITEM, BASE, ORDER, BOX, POINT)));
+		ClassLoader loader = loader();
+		JsonReader reader = new JsonReader();
+		reader.registerProviders(loader);
+		Class<?> order = loader.loadClass("demo.Order");
+		assertEquals("demo.Order_JsonSmartReader", reader.getReader(order).getClass().getName());
+		assertNotNull(reader.getReader(loader.loadClass("demo.Item")));
+		// generic, built by a creator: reflective binding
+		assertNull(reader.getReader(loader.loadClass("demo.Box")));
+		assertNull(reader.getReader(loader.loadClass("demo.Point")));
+
+		JSONValue.defaultReader.registerProviders(loader);
+		String text = "{items:[{name:a,id:7,active:false,hidden:9,secret:x,tags:[t]}],names:{'1':one},"
+				+ "counts:[1,2],note:n,unknown:1}";
+		Object o = JSONValue.parseWithException(text, order);
+		List<?> items = (List<?>) order.getField("items").get(o);
+		Object item = items.get(0);
+		Class<?> itemClass = item.getClass();
+		assertEquals("a", itemClass.getField("name").get(item));
+		assertEquals(Long.valueOf(7), itemClass.getField("id").get(item));
+		assertEquals(Boolean.FALSE, itemClass.getMethod("isActive").invoke(item));
+		assertEquals(Arrays.asList("t"), itemClass.getField("tags").get(item));
+		Map<?, ?> names = (Map<?, ?>) order.getField("names").get(o);
+		assertEquals("one", names.get(1));
+		assertTrue(Arrays.equals(new int[] { 1, 2 }, (int[]) order.getField("counts").get(o)));
+		assertEquals("set:n", order.getMethod("getNote").invoke(o));
+	}
+
+	public void testErrors() throws Exception {
+		String priv = "package demo;\n" //
+				+ "public class Outer {\n" //
+				+ "	@net.minidev.json.JsonSmart\n" //
+				+ "	private static class Hidden { public int x; }\n" //
+				+ "}\n";
+		List<String> problems = problems(compile(priv));
+		assertEquals(1, problems.size());
+		assertTrue(problems.get(0).indexOf("must not be private") > 0);
+	}
+}
@@ -0,0 +1,40 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Serialized form of a frozen container for one JSONStyle.
+ *
+ * Only plain JSONStyle instances are cached, sub classes like JSONStyleIdent
+ * produce a text depending on the container depth.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class CachedJSON {
+	final JSONStyle style;
+	final String text;
+
+	CachedJSON(JSONStyle style, String text) {
+		this.style = style;
+		this.text = text;
+	}
+
+	static boolean cacheable(JSONStyle style) {
+		return style.getClass() == JSONStyle.class;
+	}
+}
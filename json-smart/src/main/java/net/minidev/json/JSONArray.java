@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import net.minidev.json.reader.JsonOutput;
 import net.minidev.json.reader.JsonWriter;
 
 /**
@@ -30,6 +31,17 @@ import net.minidev.json.reader.JsonWriter;
 public class JSONArray extends ArrayList<Object> implements List<Object>, JSONAwareEx, JSONStreamAwareEx {
 	private static final long serialVersionUID = 9106884089231309568L;
 
+	public JSONArray() {
+		super();
+	}
+
+	/**
+	 * @since 1.3.2
+	 */
+	public JSONArray(int initialCapacity) {
+		super(initialCapacity);
+	}
+
 	public static String toJSONString(List<? extends Object> list) {
 		return toJSONString(list, JSONValue.COMPRESSION);
 	}
@@ -47,13 +59,13 @@ public class JSONArray extends ArrayList<Object> implements List<Object>, JSONAw
 	 * @return JSON text, or "null" if list is null.
 	 */
 	public static String toJSONString(List<? extends Object> list, JSONStyle compression) {
-		StringBuilder sb = new StringBuilder();
+		JsonOutput out = new JsonOutput();
 		try {
-			writeJSONString(list, sb, compression);
+			writeJSONString(list, out, compression);
 		} catch (IOException e) {
-			// Can not append on a string builder
+			// can not fail without target
 		}
-		return sb.toString();
+		return out.toString();
 	}
 
 	/**
@@ -72,6 +84,12 @@ public class JSONArray extends ArrayList<Object> implements List<Object>, JSONAw
 			out.append("null");
 			return;
 		}
+		if (!(out instanceof JsonOutput)) {
+			JsonOutput o = new JsonOutput(out);
+			JsonWriter.JSONIterableWriter.writeJSONString(list, o, compression);
+			o.flush();
+			return;
+		}
 		JsonWriter.JSONIterableWriter.writeJSONString(list, out, compression);
 	}
 
@@ -83,6 +101,14 @@ public class JSONArray extends ArrayList<Object> implements List<Object>, JSONAw
 		JSONObject.merge(this, o2);
 	}
 
+	/**
+	 * @return a deeply immutable copy of this array
+	 * @since 1.3.2
+	 */
+	public JSONFrozenArray freeze() {
+		return JSONFrozenArray.freeze(this);
+	}
+
 	/**
 	 * Explicitely Serialize Object as JSon String
 	 */
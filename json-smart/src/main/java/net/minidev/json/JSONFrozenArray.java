@@ -0,0 +1,154 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A deeply immutable JSON array. Instances can be shared between threads
+ * without copy.
+ *
+ * @see JSONArray#freeze()
+ * @see JSONValue#freeze(Object)
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONFrozenArray extends AbstractList<Object> implements RandomAccess, JSONAwareEx, JSONStreamAwareEx {
+	private final Object[] items;
+	private int hash;
+	/**
+	 * keep the serialized form, see {@link #cacheJSON()}
+	 */
+	private volatile boolean cacheJSON;
+	private volatile CachedJSON cached;
+
+	private JSONFrozenArray(Object[] items) {
+		this.items = items;
+	}
+
+	/**
+	 * build a deeply frozen copy of a Collection, frozen sub-objects are
+	 * shared.
+	 */
+	public static JSONFrozenArray freeze(Collection<?> list) {
+		if (list instanceof JSONFrozenArray)
+			return (JSONFrozenArray) list;
+		Object[] items = new Object[list.size()];
+		int i = 0;
+		for (Object o : list)
+			items[i++] = JSONValue.freeze(o);
+		return new JSONFrozenArray(items);
+	}
+
+	/**
+	 * build a deeply frozen copy of an Object or primitive array, primitive
+	 * values are boxed.
+	 */
+	static JSONFrozenArray freezeArray(Object array) {
+		Object[] items = new Object[Array.getLength(array)];
+		for (int i = 0; i < items.length; i++)
+			items[i] = JSONValue.freeze(Array.get(array, i));
+		return new JSONFrozenArray(items);
+	}
+
+	/**
+	 * Copy on write update, all other elements are shared with this array.
+	 *
+	 * @return a new frozen array containing a frozen copy of value at index
+	 */
+	public JSONFrozenArray with(int index, Object value) {
+		value = JSONValue.freeze(value);
+		if (items[index] == value)
+			return this;
+		Object[] i2 = items.clone();
+		i2[index] = value;
+		return keepCaching(new JSONFrozenArray(i2));
+	}
+
+	public Object get(int index) {
+		return items[index];
+	}
+
+	public int size() {
+		return items.length;
+	}
+
+	/**
+	 * hashCode is computed once
+	 */
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = 1;
+			for (Object o : items)
+				h = 31 * h + (o == null ? 0 : o.hashCode());
+			hash = h;
+		}
+		return h;
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		if (cacheJSON && CachedJSON.cacheable(compression))
+			out.append(toJSONString(compression));
+		else
+			JSONArray.writeJSONString(this, out, compression);
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		CachedJSON c = cached;
+		if (c != null && c.style == compression)
+			return c.text;
+		String text = JSONArray.toJSONString(this, compression);
+		if (cacheJSON && CachedJSON.cacheable(compression))
+			cached = new CachedJSON(compression, text);
+		return text;
+	}
+
+	/**
+	 * Keep the serialized form of this array for the last used JSONStyle, so
+	 * next writes with this style copy it instead of serializing the content
+	 * again. Copies derived with with() keep caching.
+	 *
+	 * @return this
+	 */
+	public JSONFrozenArray cacheJSON() {
+		cacheJSON = true;
+		return this;
+	}
+
+	private JSONFrozenArray keepCaching(JSONFrozenArray copy) {
+		copy.cacheJSON = cacheJSON;
+		return copy;
+	}
+
+	public String toString() {
+		return toJSONString();
+	}
+}
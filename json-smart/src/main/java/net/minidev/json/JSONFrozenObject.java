@@ -0,0 +1,316 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A deeply immutable JSON object. Instances can be shared between threads
+ * without copy. Keys keep the iteration order of the source Map.
+ *
+ * Use {@link #with(String, Object)} to derive a modified copy, the derived
+ * object share all untouched sub-objects with its source.
+ *
+ * @see JSONObject#freeze()
+ * @see JSONValue#freeze(Object)
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONFrozenObject extends AbstractMap<String, Object> implements JSONAwareEx, JSONStreamAwareEx {
+	/**
+	 * under this size lookup is a simple scan
+	 */
+	private final static int SCAN_LIMIT = 8;
+
+	private final String[] keys;
+	private final Object[] values;
+	/**
+	 * open addressing table storing index + 1, null for small objects
+	 */
+	private final int[] table;
+	private int hash;
+	/**
+	 * keep the serialized form, see {@link #cacheJSON()}
+	 */
+	private volatile boolean cacheJSON;
+	private volatile CachedJSON cached;
+
+	private JSONFrozenObject(String[] keys, Object[] values, int[] table) {
+		this.keys = keys;
+		this.values = values;
+		this.table = table;
+	}
+
+	/**
+	 * build a deeply frozen copy of a Map, frozen sub-objects are shared.
+	 * Keys are converted to String.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if two keys have the same String form, like 1 and "1"
+	 */
+	public static JSONFrozenObject freeze(Map<?, ?> map) {
+		if (map instanceof JSONFrozenObject)
+			return (JSONFrozenObject) map;
+		int size = map.size();
+		String[] keys = new String[size];
+		Object[] values = new Object[size];
+		boolean converted = false;
+		int i = 0;
+		for (Map.Entry<?, ?> e : map.entrySet()) {
+			Object k = e.getKey();
+			if (k != null && !(k instanceof String))
+				converted = true;
+			keys[i] = (k == null) ? null : k.toString();
+			values[i] = JSONValue.freeze(e.getValue());
+			i++;
+		}
+		if (converted) {
+			HashSet<String> done = new HashSet<String>();
+			for (String k : keys)
+				if (!done.add(k))
+					throw new IllegalArgumentException("duplicate key \"" + k + "\" in frozen object");
+		}
+		return new JSONFrozenObject(keys, values, buildTable(keys));
+	}
+
+	private static int[] buildTable(String[] keys) {
+		if (keys.length <= SCAN_LIMIT)
+			return null;
+		int cap = Integer.highestOneBit(keys.length * 2 - 1) << 1;
+		int[] table = new int[cap];
+		int mask = cap - 1;
+		for (int i = 0; i < keys.length; i++) {
+			int p = spread(keys[i]) & mask;
+			while (table[p] != 0)
+				p = (p + 1) & mask;
+			table[p] = i + 1;
+		}
+		return table;
+	}
+
+	private static int spread(Object key) {
+		if (key == null)
+			return 0;
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private int indexOf(Object key) {
+		if (table == null) {
+			for (int i = 0; i < keys.length; i++) {
+				String k = keys[i];
+				if (k == key || (k != null && k.equals(key)))
+					return i;
+			}
+			return -1;
+		}
+		int mask = table.length - 1;
+		int p = spread(key) & mask;
+		for (;;) {
+			int i = table[p] - 1;
+			if (i < 0)
+				return -1;
+			String k = keys[i];
+			if (k == key || (k != null && k.equals(key)))
+				return i;
+			p = (p + 1) & mask;
+		}
+	}
+
+	/**
+	 * Copy on write update, the new object share its keys index and all its
+	 * sub-objects with this one when the key already exists.
+	 *
+	 * @return a new frozen object containing key associated to a frozen copy
+	 *         of value
+	 */
+	public JSONFrozenObject with(String key, Object value) {
+		value = JSONValue.freeze(value);
+		int i = indexOf(key);
+		if (i >= 0) {
+			if (values[i] == value)
+				return this;
+			Object[] v2 = values.clone();
+			v2[i] = value;
+			return keepCaching(new JSONFrozenObject(keys, v2, table));
+		}
+		int size = keys.length;
+		String[] k2 = new String[size + 1];
+		Object[] v2 = new Object[size + 1];
+		System.arraycopy(keys, 0, k2, 0, size);
+		System.arraycopy(values, 0, v2, 0, size);
+		k2[size] = key;
+		v2[size] = value;
+		return keepCaching(new JSONFrozenObject(k2, v2, buildTable(k2)));
+	}
+
+	public int size() {
+		return keys.length;
+	}
+
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	public Object get(Object key) {
+		int i = indexOf(key);
+		if (i < 0)
+			return null;
+		return values[i];
+	}
+
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new EntryIterator();
+			}
+
+			public int size() {
+				return keys.length;
+			}
+		};
+	}
+
+	/**
+	 * hashCode is computed once
+	 */
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			for (int i = 0; i < keys.length; i++)
+				h += spreadEntry(keys[i], values[i]);
+			hash = h;
+		}
+		return h;
+	}
+
+	private static int spreadEntry(Object k, Object v) {
+		return (k == null ? 0 : k.hashCode()) ^ (v == null ? 0 : v.hashCode());
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		if (cacheJSON && CachedJSON.cacheable(compression))
+			out.append(toJSONString(compression));
+		else
+			JSONObject.writeJSON(this, out, compression);
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		CachedJSON c = cached;
+		if (c != null && c.style == compression)
+			return c.text;
+		String text = JSONObject.toJSONString(this, compression);
+		if (cacheJSON && CachedJSON.cacheable(compression))
+			cached = new CachedJSON(compression, text);
+		return text;
+	}
+
+	/**
+	 * Keep the serialized form of this object for the last used JSONStyle, so
+	 * next writes with this style copy it instead of serializing the content
+	 * again. Copies derived with with() keep caching.
+	 *
+	 * @return this
+	 */
+	public JSONFrozenObject cacheJSON() {
+		cacheJSON = true;
+		return this;
+	}
+
+	private JSONFrozenObject keepCaching(JSONFrozenObject copy) {
+		copy.cacheJSON = cacheJSON;
+		return copy;
+	}
+
+	public String toString() {
+		return toJSONString();
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+		int p = 0;
+
+		public boolean hasNext() {
+			return p < keys.length;
+		}
+
+		public Map.Entry<String, Object> next() {
+			if (p >= keys.length)
+				throw new NoSuchElementException();
+			Entry e = new Entry(keys[p], values[p]);
+			p++;
+			return e;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("JSONFrozenObject is immutable");
+		}
+	}
+
+	private static class Entry implements Map.Entry<String, Object> {
+		private final String key;
+		private final Object value;
+
+		Entry(String key, Object value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+		public Object setValue(Object value) {
+			throw new UnsupportedOperationException("JSONFrozenObject is immutable");
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry))
+				return false;
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+			return (key == null ? e.getKey() == null : key.equals(e.getKey()))
+					&& (value == null ? e.getValue() == null : value.equals(e.getValue()));
+		}
+
+		public int hashCode() {
+			return spreadEntry(key, value);
+		}
+
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+}
@@ -0,0 +1,305 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import net.minidev.json.reader.JsonOutput;
+import net.minidev.json.reader.Utf8Writer;
+
+/**
+ * Streaming JSON writer, producing a document with successive calls instead
+ * of building a JSONObject / JSONArray tree first:
+ *
+ * <pre>
+ * JSONGenerator g = new JSONGenerator(out);
+ * g.startObject().key(&quot;ids&quot;).startArray().value(1).value(2).endArray().endObject();
+ * g.close();
+ * </pre>
+ *
+ * Output goes through a buffer and uses the JSONStyle hooks and escapers, so
+ * the text is the same as JSONValue.toJSONString would produce for the same
+ * tree. Nesting is checked, memory use only depends on the depth.
+ *
+ * Misuse like a value without key in an Object, or a mismatched end call,
+ * throws an IllegalStateException. Not thread-safe.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONGenerator implements Flushable {
+	private final static byte IN_OBJECT = 1;
+	private final static byte IN_ARRAY = 2;
+
+	private final JsonOutput out;
+	private final Utf8Writer utf8;
+	private final JSONStyle style;
+
+	/**
+	 * container type for each open level
+	 */
+	private byte[] types = new byte[16];
+	/**
+	 * number of entries written in each open level, ignored null entries
+	 * excluded
+	 */
+	private int[] counts = new int[16];
+	private int depth;
+	/**
+	 * key given for the next Object value, written with the value
+	 */
+	private String pendingKey;
+	private boolean rootDone;
+
+	public JSONGenerator(Appendable out) {
+		this(out, JSONValue.COMPRESSION);
+	}
+
+	public JSONGenerator(Appendable out, JSONStyle style) {
+		this(new JsonOutput(out, 8192), null, style);
+	}
+
+	private JSONGenerator(JsonOutput out, Utf8Writer utf8, JSONStyle style) {
+		this.out = out;
+		this.utf8 = utf8;
+		this.style = style;
+	}
+
+	/**
+	 * @return a generator writing UTF-8 encoded text. A factory, as some
+	 *         OutputStreams like PrintStream are also Appendable.
+	 */
+	public static JSONGenerator utf8(OutputStream out) {
+		return utf8(out, JSONValue.COMPRESSION);
+	}
+
+	/**
+	 * @return a generator writing UTF-8 encoded text
+	 */
+	public static JSONGenerator utf8(OutputStream out, JSONStyle style) {
+		Utf8Writer utf8 = new Utf8Writer(out);
+		return new JSONGenerator(new JsonOutput(utf8, 8192), utf8, style);
+	}
+
+	/**
+	 * @return number of open Objects and Arrays
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	public JSONGenerator startObject() throws IOException {
+		beforeValue();
+		style.objectStart(out);
+		push(IN_OBJECT);
+		return this;
+	}
+
+	public JSONGenerator endObject() throws IOException {
+		if (depth == 0 || types[depth - 1] != IN_OBJECT)
+			throw new IllegalStateException("no Object to end");
+		if (pendingKey != null)
+			throw new IllegalStateException("missing value for key " + pendingKey);
+		depth--;
+		style.objectStop(out);
+		afterValue();
+		return this;
+	}
+
+	public JSONGenerator startArray() throws IOException {
+		beforeValue();
+		style.arrayStart(out);
+		push(IN_ARRAY);
+		return this;
+	}
+
+	public JSONGenerator endArray() throws IOException {
+		if (depth == 0 || types[depth - 1] != IN_ARRAY)
+			throw new IllegalStateException("no Array to end");
+		depth--;
+		style.arrayStop(out);
+		afterValue();
+		return this;
+	}
+
+	/**
+	 * set the key of the next Object entry
+	 */
+	public JSONGenerator key(String key) {
+		if (depth == 0 || types[depth - 1] != IN_OBJECT)
+			throw new IllegalStateException("key outside of an Object");
+		if (pendingKey != null)
+			throw new IllegalStateException("missing value for key " + pendingKey);
+		if (key == null)
+			throw new IllegalArgumentException("null key");
+		pendingKey = key;
+		return this;
+	}
+
+	public JSONGenerator value(String value) throws IOException {
+		if (value == null)
+			return nullValue();
+		beforeValue();
+		style.writeString(out, value);
+		afterValue();
+		return this;
+	}
+
+	public JSONGenerator value(long value) throws IOException {
+		beforeValue();
+		out.writeLong(value);
+		afterValue();
+		return this;
+	}
+
+	/**
+	 * infinite values are written as null, like the Double writer
+	 */
+	public JSONGenerator value(double value) throws IOException {
+		beforeValue();
+		if (Double.isInfinite(value))
+			out.write("null");
+		else
+			out.writeDouble(value);
+		afterValue();
+		return this;
+	}
+
+	/**
+	 * written with the float digits, like the Float writer; infinite values
+	 * are written as null
+	 */
+	public JSONGenerator value(float value) throws IOException {
+		beforeValue();
+		if (Float.isInfinite(value))
+			out.write("null");
+		else
+			out.writeFloat(value);
+		afterValue();
+		return this;
+	}
+
+	public JSONGenerator value(boolean value) throws IOException {
+		beforeValue();
+		out.write(value ? "true" : "false");
+		afterValue();
+		return this;
+	}
+
+	/**
+	 * null entries of an Object are skipped if the style ignore nulls
+	 */
+	public JSONGenerator nullValue() throws IOException {
+		if (pendingKey != null && style.ignoreNull()) {
+			pendingKey = null;
+			return this;
+		}
+		beforeValue();
+		out.write("null");
+		afterValue();
+		return this;
+	}
+
+	/**
+	 * write any value supported by JSONValue.writeJSONString, like a Map, a
+	 * List or a bean
+	 */
+	public JSONGenerator value(Object value) throws IOException {
+		if (value == null)
+			return nullValue();
+		if (value instanceof String)
+			return value((String) value);
+		beforeValue();
+		JSONValue.writeJSONString(value, out, style);
+		afterValue();
+		return this;
+	}
+
+	private void push(byte type) {
+		if (depth == types.length) {
+			byte[] t2 = new byte[depth * 2];
+			System.arraycopy(types, 0, t2, 0, depth);
+			types = t2;
+			int[] c2 = new int[depth * 2];
+			System.arraycopy(counts, 0, c2, 0, depth);
+			counts = c2;
+		}
+		types[depth] = type;
+		counts[depth] = 0;
+		depth++;
+	}
+
+	/**
+	 * check the value position, write separator and pending key
+	 */
+	private void beforeValue() throws IOException {
+		if (depth == 0) {
+			if (rootDone)
+				throw new IllegalStateException("document already complete");
+			return;
+		}
+		int level = depth - 1;
+		if (types[level] == IN_OBJECT) {
+			if (pendingKey == null)
+				throw new IllegalStateException("missing key for Object value");
+			if (counts[level]++ == 0)
+				style.objectFirstStart(out);
+			else
+				style.objectNext(out);
+			style.writeKey(out, pendingKey);
+			style.objectEndOfKey(out);
+			pendingKey = null;
+		} else {
+			if (counts[level]++ == 0)
+				style.arrayfirstObject(out);
+			else
+				style.arrayNextElm(out);
+		}
+	}
+
+	private void afterValue() throws IOException {
+		if (depth == 0) {
+			rootDone = true;
+			return;
+		}
+		if (types[depth - 1] == IN_OBJECT)
+			style.objectElmStop(out);
+		else
+			style.arrayObjectEnd(out);
+	}
+
+	/**
+	 * send buffered text to the target, and flush the OutputStream if the
+	 * generator writes UTF-8
+	 */
+	public void flush() throws IOException {
+		out.flush();
+		if (utf8 != null)
+			utf8.flush();
+	}
+
+	/**
+	 * check the document is complete and flush it. The target is not closed.
+	 */
+	public void close() throws IOException {
+		if (depth > 0)
+			throw new IllegalStateException(depth + " unclosed Object or Array");
+		flush();
+	}
+}
@@ -0,0 +1,214 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+
+import net.minidev.json.parser.JSONParser;
+
+/**
+ * A JSON String value still backed by the parsed input text. The value is only
+ * decoded to a java String on first call to toString() or charAt(), and is
+ * written back verbatim when the output style do not need to re-escape it.
+ *
+ * Produced by {@link net.minidev.json.parser.JSONParser} when
+ * {@link net.minidev.json.parser.JSONParser#setLazyString(boolean)} is
+ * enabled.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONLazyString implements CharSequence, JSONStreamAwareEx, JSONAwareEx {
+	private final String src;
+	private final int start;
+	private final int stop;
+	private final boolean escaped;
+	private String value;
+
+	/**
+	 * @param src
+	 *            the full parsed input
+	 * @param start
+	 *            position of the first char after the opening quote
+	 * @param stop
+	 *            position of the closing quote
+	 * @param escaped
+	 *            true if the source range contains backslash escapes
+	 */
+	public JSONLazyString(String src, int start, int stop, boolean escaped) {
+		this.src = src;
+		this.start = start;
+		this.stop = stop;
+		this.escaped = escaped;
+	}
+
+	/**
+	 * @return true if the source text contains escape sequences
+	 */
+	public boolean isEscaped() {
+		return escaped;
+	}
+
+	/**
+	 * @return true if the String had already been decoded
+	 */
+	public boolean isDecoded() {
+		return value != null;
+	}
+
+	public int length() {
+		if (!escaped)
+			return stop - start;
+		return toString().length();
+	}
+
+	public char charAt(int index) {
+		return toString().charAt(index);
+	}
+
+	public CharSequence subSequence(int start, int end) {
+		return toString().subSequence(start, end);
+	}
+
+	public String toString() {
+		String v = value;
+		if (v == null) {
+			if (escaped)
+				v = decode(src, start, stop);
+			else
+				v = src.substring(start, stop);
+			value = v;
+		}
+		return v;
+	}
+
+	/**
+	 * @return the hashCode of the decoded String
+	 */
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	/**
+	 * Equal to the JSONLazyString having the same decoded value. Never equal
+	 * to a String, as String.equals would not be symmetric; compare
+	 * toString() values to mix lazy and decoded Strings.
+	 */
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (!(obj instanceof JSONLazyString))
+			return false;
+		return toString().equals(obj.toString());
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		if (!escaped && compression.protectValues()
+				&& !JStylerObj.needEscape(src, start, stop, compression.protect4Web())) {
+			out.append('"');
+			out.append(src, start, stop);
+			out.append('"');
+			return;
+		}
+		compression.writeString(out, toString());
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		StringBuilder sb = new StringBuilder(stop - start + 2);
+		try {
+			writeJSONString(sb, compression);
+		} catch (IOException e) {
+			// can not append on a StringBuilder
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Decode a escaped String the same way JSONParser do. The input had already
+	 * been validated by the parser, so raw control char can only be there if
+	 * they had been ignored, they are dropped following the parser rule.
+	 * 
+	 * @see JSONParser#isControlChar(char)
+	 */
+	static String decode(String s, int start, int stop) {
+		StringBuilder sb = new StringBuilder(stop - start);
+		for (int i = start; i < stop; i++) {
+			char c = s.charAt(i);
+			if (c == '\\') {
+				c = s.charAt(++i);
+				switch (c) {
+				case 't':
+					sb.append('\t');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case '\\':
+				case '/':
+				case '\'':
+				case '"':
+					sb.append(c);
+					break;
+				case 'u':
+					sb.append(hex(s, i + 1, 4));
+					i += 4;
+					break;
+				case 'x': // issue 39
+					sb.append(hex(s, i + 1, 2));
+					i += 2;
+					break;
+				default:
+					break;
+				}
+			} else if (!JSONParser.isControlChar(c))
+				sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	private static char hex(String s, int p, int totalChars) {
+		int value = 0;
+		for (int i = 0; i < totalChars; i++) {
+			char c = s.charAt(p + i);
+			value = value * 16;
+			if (c <= '9')
+				value += c - '0';
+			else if (c <= 'F')
+				value += (c - 'A') + 10;
+			else
+				value += (c - 'a') + 10;
+		}
+		return (char) value;
+	}
+}
@@ -53,7 +53,7 @@ public class JSONNavi<T> {
 	}
 
 	/**
-	 * build a LinkedHashMap or a JSONArray
+	 * build a JSONOrderedObject or a JSONArray
 	 */
 	public static JSONNavi<Collection<?>> newInstanceOrdered() {
 		return new JSONNavi<Collection<?>>(ContainerFactory.FACTORY_ORDERED);
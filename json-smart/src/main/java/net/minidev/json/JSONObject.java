@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import net.minidev.json.reader.JsonOutput;
 import net.minidev.json.reader.JsonWriter;
 
 /**
@@ -35,6 +36,13 @@ public class JSONObject extends HashMap<String, Object> implements JSONAware, JS
 		super();
 	}
 
+	/**
+	 * @since 1.3.2
+	 */
+	public JSONObject(int initialCapacity) {
+		super(initialCapacity);
+	}
+
 	// /**
 	// * Allow simply casting to Map<String, XXX>
 	// */
@@ -69,13 +77,13 @@ public class JSONObject extends HashMap<String, Object> implements JSONAware, JS
 	 * @return JSON text, or "null" if map is null.
 	 */
 	public static String toJSONString(Map<String, ? extends Object> map, JSONStyle compression) {
-		StringBuilder sb = new StringBuilder();
+		JsonOutput out = new JsonOutput();
 		try {
-			writeJSON(map, sb, compression);
+			writeJSON(map, out, compression);
 		} catch (IOException e) {
-			// can not append on a StringBuilder
+			// can not fail without target
 		}
-		return sb.toString();
+		return out.toString();
 	}
 
 	// /**
@@ -124,6 +132,12 @@ public class JSONObject extends HashMap<String, Object> implements JSONAware, JS
 			out.append("null");
 			return;
 		}
+		if (!(out instanceof JsonOutput)) {
+			JsonOutput o = new JsonOutput(out);
+			JsonWriter.JSONMapWriter.writeJSONString(map, o, compression);
+			o.flush();
+			return;
+		}
 		JsonWriter.JSONMapWriter.writeJSONString(map, out, compression);
 	}
 
@@ -145,6 +159,14 @@ public class JSONObject extends HashMap<String, Object> implements JSONAware, JS
 		merge(this, o2);
 	}
 
+	/**
+	 * @return a deeply immutable copy of this object
+	 * @since 1.3.2
+	 */
+	public JSONFrozenObject freeze() {
+		return JSONFrozenObject.freeze(this);
+	}
+
 	protected static JSONObject merge(JSONObject o1, Object o2) {
 		if (o2 == null)
 			return o1;
@@ -0,0 +1,362 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import net.minidev.json.reader.JsonOutput;
+import net.minidev.json.reader.JsonWriter;
+
+/**
+ * A JSON object keeping keys in insertion order, using less memory than a
+ * LinkedHashMap. Keys and values are stored in two dense arrays, lookup use a
+ * separate open addressing index table only built for objects having more
+ * than 8 keys. No per-entry object is allocated.
+ *
+ * Used by {@link net.minidev.json.parser.ContainerFactory#FACTORY_ORDERED}.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONOrderedObject extends AbstractMap<String, Object> implements JSONAwareEx, JSONStreamAwareEx {
+	/**
+	 * under this size lookup is a simple scan
+	 */
+	private final static int SCAN_LIMIT = 8;
+	/**
+	 * removed key marker
+	 */
+	private final static Object REMOVED = new Object();
+
+	private Object[] keys;
+	private Object[] values;
+	/**
+	 * index + 1 in keys, null for small objects
+	 */
+	private int[] table;
+	/**
+	 * used slots in keys, including removed ones
+	 */
+	private int used;
+	/**
+	 * live entries
+	 */
+	private int size;
+	private int modCount;
+
+	public JSONOrderedObject() {
+		this(4);
+	}
+
+	public JSONOrderedObject(int initialCapacity) {
+		int cap = Math.max(1, initialCapacity);
+		keys = new Object[cap];
+		values = new Object[cap];
+		if (cap > SCAN_LIMIT)
+			table = new int[tableSize(cap)];
+	}
+
+	public JSONOrderedObject(Map<String, ?> map) {
+		this(map.size());
+		putAll(map);
+	}
+
+	private static int tableSize(int cap) {
+		return Integer.highestOneBit(cap * 2 - 1) << 1;
+	}
+
+	private static int spread(Object key) {
+		if (key == null)
+			return 0;
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private int indexOf(Object key) {
+		if (table == null) {
+			for (int i = 0; i < used; i++) {
+				Object k = keys[i];
+				if (k == key || (key != null && key.equals(k)))
+					return i;
+			}
+			return -1;
+		}
+		int mask = table.length - 1;
+		int p = spread(key) & mask;
+		for (;;) {
+			int i = table[p] - 1;
+			if (i < 0)
+				return -1;
+			Object k = keys[i];
+			if (k == key || (key != null && key.equals(k)))
+				return i;
+			p = (p + 1) & mask;
+		}
+	}
+
+	private void index(int i) {
+		int mask = table.length - 1;
+		int p = spread(keys[i]) & mask;
+		while (table[p] != 0)
+			p = (p + 1) & mask;
+		table[p] = i + 1;
+	}
+
+	/**
+	 * drop removed slots, and grow arrays if needed
+	 */
+	private void rehash(int cap) {
+		Object[] k2 = new Object[cap];
+		Object[] v2 = new Object[cap];
+		int n = 0;
+		for (int i = 0; i < used; i++) {
+			if (keys[i] == REMOVED)
+				continue;
+			k2[n] = keys[i];
+			v2[n] = values[i];
+			n++;
+		}
+		keys = k2;
+		values = v2;
+		used = n;
+		if (cap > SCAN_LIMIT) {
+			table = new int[tableSize(cap)];
+			for (int i = 0; i < n; i++)
+				index(i);
+		} else
+			table = null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	public Object get(Object key) {
+		int i = indexOf(key);
+		if (i < 0)
+			return null;
+		return values[i];
+	}
+
+	public Object put(String key, Object value) {
+		int i = indexOf(key);
+		if (i >= 0) {
+			Object old = values[i];
+			values[i] = value;
+			return old;
+		}
+		if (used == keys.length) {
+			// reuse removed slots before growing
+			if (size < used - (used >> 2))
+				rehash(keys.length);
+			else
+				rehash(keys.length * 2);
+		}
+		keys[used] = key;
+		values[used] = value;
+		if (table != null)
+			index(used);
+		used++;
+		size++;
+		modCount++;
+		return null;
+	}
+
+	public Object remove(Object key) {
+		int i = indexOf(key);
+		if (i < 0)
+			return null;
+		return removeAt(i);
+	}
+
+	private Object removeAt(int i) {
+		Object old = values[i];
+		// keep the slot, so the index table chains stay valid
+		keys[i] = REMOVED;
+		values[i] = null;
+		size--;
+		modCount++;
+		return old;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, 0, used, null);
+		Arrays.fill(values, 0, used, null);
+		if (table != null)
+			Arrays.fill(table, 0);
+		used = 0;
+		size = 0;
+		modCount++;
+	}
+
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new EntryIterator();
+			}
+
+			public int size() {
+				return size;
+			}
+
+			public void clear() {
+				JSONOrderedObject.this.clear();
+			}
+		};
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	/**
+	 * serialize directly from the internal arrays
+	 */
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		boolean first = true;
+		compression.objectStart(out);
+		for (int i = 0; i < used; i++) {
+			Object k = keys[i];
+			if (k == REMOVED)
+				continue;
+			Object v = values[i];
+			if (v == null && compression.ignoreNull())
+				continue;
+			if (first) {
+				compression.objectFirstStart(out);
+				first = false;
+			} else {
+				compression.objectNext(out);
+			}
+			JsonWriter.writeJSONKV(k == null ? null : k.toString(), v, out, compression);
+		}
+		compression.objectStop(out);
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		JsonOutput out = new JsonOutput();
+		try {
+			writeJSONString(out, compression);
+		} catch (IOException e) {
+			// can not fail without target
+		}
+		return out.toString();
+	}
+
+	public String toString() {
+		return toJSONString();
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+		int next = skip(0);
+		int last = -1;
+		int expectedModCount = modCount;
+
+		private int skip(int p) {
+			while (p < used && keys[p] == REMOVED)
+				p++;
+			return p;
+		}
+
+		public boolean hasNext() {
+			return next < used;
+		}
+
+		public Map.Entry<String, Object> next() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (next >= used)
+				throw new NoSuchElementException();
+			last = next;
+			next = skip(next + 1);
+			return new Entry(last);
+		}
+
+		public void remove() {
+			if (last < 0)
+				throw new IllegalStateException();
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			removeAt(last);
+			expectedModCount = modCount;
+			last = -1;
+		}
+	}
+
+	/**
+	 * view on a slot, only allocated while iterating
+	 */
+	private class Entry implements Map.Entry<String, Object> {
+		final int i;
+		final String key;
+
+		Entry(int i) {
+			this.i = i;
+			this.key = (String) keys[i];
+		}
+
+		public String getKey() {
+			return key;
+		}
+
+		public Object getValue() {
+			return keys[i] == key ? values[i] : null;
+		}
+
+		public Object setValue(Object value) {
+			if (keys[i] != key)
+				throw new IllegalStateException("entry removed");
+			Object old = values[i];
+			values[i] = value;
+			return old;
+		}
+
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry))
+				return false;
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+			Object v = getValue();
+			return (key == null ? e.getKey() == null : key.equals(e.getKey()))
+					&& (v == null ? e.getValue() == null : v.equals(e.getValue()));
+		}
+
+		public int hashCode() {
+			Object v = getValue();
+			return (key == null ? 0 : key.hashCode()) ^ (v == null ? 0 : v.hashCode());
+		}
+
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+
+import net.minidev.json.parser.FakeContainerFactory;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+/**
+ * Already serialized JSON text, written unchanged by the serializer: the text
+ * is neither parsed nor compressed, and must be a single valid JSON value.
+ *
+ * Use {@link #parse(String)} to check the text first, the constructor trusts
+ * its input.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public final class JSONRaw implements JSONAwareEx, JSONStreamAwareEx {
+	private final String json;
+
+	/**
+	 * @param json
+	 *            valid JSON text, not checked
+	 */
+	public JSONRaw(String json) {
+		if (json == null)
+			throw new NullPointerException("json");
+		this.json = json;
+	}
+
+	/**
+	 * @return a JSONRaw after checking json is RFC4627 compliant
+	 */
+	public static JSONRaw parse(String json) throws ParseException {
+		new JSONParser(JSONParser.MODE_RFC4627).parse(json, new FakeContainerFactory());
+		return new JSONRaw(json);
+	}
+
+	public String getJSON() {
+		return json;
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		out.append(json);
+	}
+
+	/**
+	 * the style is ignored
+	 */
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		out.append(json);
+	}
+
+	public String toJSONString() {
+		return json;
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		return json;
+	}
+
+	public boolean equals(Object obj) {
+		return obj instanceof JSONRaw && ((JSONRaw) obj).json.equals(json);
+	}
+
+	public int hashCode() {
+		return json.hashCode();
+	}
+
+	public String toString() {
+		return json;
+	}
+}
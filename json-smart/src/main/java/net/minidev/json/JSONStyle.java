@@ -17,8 +17,8 @@ package net.minidev.json;
  */
 import java.io.IOException;
 
+import net.minidev.json.JStylerObj.EscapeTable;
 import net.minidev.json.JStylerObj.MustProtect;
-import net.minidev.json.JStylerObj.StringProtector;
 
 /**
  * JSONStyle object configure JSonSerializer reducing output size
@@ -61,7 +61,31 @@ public class JSONStyle {
 	private MustProtect mpKey;
 	private MustProtect mpValue;
 
-	private StringProtector esc;
+	private EscapeTable esc;
+
+	/**
+	 * JStylerObj protect levels, used by the single pass writeString
+	 */
+	private int keyLevel;
+	private int valueLevel;
+	/**
+	 * false if a sub class overrides mustProtectKey / mustProtectValue or
+	 * escape
+	 */
+	private boolean fastKey;
+	private boolean fastValue;
+
+	/**
+	 * keys longer than that are not cached
+	 */
+	private final static int KEY_CACHE_MAX_LENGTH = 32;
+	/**
+	 * recently written keys, by their quoting decision: written as is, or
+	 * quoted without escape. Keys needing escapes are not cached. A key can
+	 * only be in one of them, so concurrent updates only lose entries.
+	 */
+	private final String[] rawKeys = new String[64];
+	private final String[] quotedKeys = new String[64];
 
 	public JSONStyle(int FLAG) {
 		_protectKeys = (FLAG & FLAG_PROTECT_KEYS) == 0;
@@ -88,6 +112,20 @@ public class JSONStyle {
 			esc = JStylerObj.ESCAPE4Web;
 		else
 			esc = JStylerObj.ESCAPE_LT;
+
+		keyLevel = JStylerObj.protectLevel(mpKey);
+		valueLevel = JStylerObj.protectLevel(mpValue);
+		boolean customEscape = isOverridden("escape", String.class, Appendable.class);
+		fastKey = !customEscape && !isOverridden("mustProtectKey", String.class);
+		fastValue = !customEscape && !isOverridden("mustProtectValue", String.class);
+	}
+
+	private boolean isOverridden(String name, Class<?>... parameterTypes) {
+		try {
+			return getClass().getMethod(name, parameterTypes).getDeclaringClass() != JSONStyle.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
 	}
 
 	public JSONStyle() {
@@ -123,6 +161,11 @@ public class JSONStyle {
 	}
 
 	public void writeString(Appendable out, String value) throws IOException {
+		if (fastValue && value != null) {
+			// quoting and escaping decided in a single scan
+			JStylerObj.writeString(out, value, valueLevel, esc);
+			return;
+		}
 		if (!this.mustProtectValue(value))
 			out.append(value);
 		else {
@@ -132,6 +175,53 @@ public class JSONStyle {
 		}
 	}
 
+	/**
+	 * Write an Object key, quoted and escaped if needed. The quoting decision
+	 * of recently used short keys is cached.
+	 * 
+	 * @since 1.3.2
+	 */
+	public void writeKey(Appendable out, String key) throws IOException {
+		if (key == null) {
+			out.append("null");
+			return;
+		}
+		if (!fastKey) {
+			if (!this.mustProtectKey(key))
+				out.append(key);
+			else {
+				out.append('"');
+				JSONValue.escape(key, out, this);
+				out.append('"');
+			}
+			return;
+		}
+		if (key.length() > KEY_CACHE_MAX_LENGTH) {
+			JStylerObj.writeString(out, key, keyLevel, esc);
+			return;
+		}
+		int h = key.hashCode();
+		int p = (h ^ (h >>> 16)) & (rawKeys.length - 1);
+		String k = rawKeys[p];
+		if (k == key || key.equals(k)) {
+			out.append(key);
+			return;
+		}
+		k = quotedKeys[p];
+		if (k == key || key.equals(k)) {
+			out.append('"');
+			out.append(key);
+			out.append('"');
+			return;
+		}
+		int encoding = JStylerObj.encoding(key, keyLevel, esc);
+		if (encoding == JStylerObj.ENCODE_RAW)
+			rawKeys[p] = key;
+		else if (encoding == JStylerObj.ENCODE_QUOTE)
+			quotedKeys[p] = key;
+		JStylerObj.writeEncoded(out, key, encoding, esc);
+	}
+
 	public void escape(String s, Appendable out) {
 		esc.escape(s, out);
 	}
@@ -0,0 +1,333 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import static net.minidev.json.parser.JSONParser.DEFAULT_PERMISSIVE_MODE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+import net.minidev.json.parser.ContentHandler;
+import net.minidev.json.parser.FakeContainerFactory;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+/**
+ * Compact binary representation of a parsed JSON document stored in off-heap
+ * memory (direct ByteBuffers). A tape only use a few heap objects whatever the
+ * document size, use {@link #root()} to navigate it.
+ *
+ * Tape layout, each value start with a one byte tag:
+ * <ul>
+ * <li>null, true, false: tag only</li>
+ * <li>int, float: tag + 4 bytes</li>
+ * <li>long, double: tag + 8 bytes</li>
+ * <li>String, BigInteger, BigDecimal: tag + 4 bytes string pool offset</li>
+ * <li>Object, Array: tag + 4 bytes count + 4 bytes end offset, followed by
+ * values, each object value is preceded by its key string pool offset</li>
+ * </ul>
+ * The string pool store Strings as an int length followed by UTF-16 chars,
+ * Object keys are stored once.
+ *
+ * Offsets are int, so the tape and the string pool are limited to 2GB each
+ * (Integer.MAX_VALUE bytes).
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONTape {
+	public final static byte T_NULL = 0;
+	public final static byte T_TRUE = 1;
+	public final static byte T_FALSE = 2;
+	public final static byte T_INT = 3;
+	public final static byte T_LONG = 4;
+	public final static byte T_FLOAT = 5;
+	public final static byte T_DOUBLE = 6;
+	public final static byte T_BIG_INTEGER = 7;
+	public final static byte T_BIG_DECIMAL = 8;
+	public final static byte T_STRING = 9;
+	public final static byte T_OBJECT = 10;
+	public final static byte T_ARRAY = 11;
+
+	final ByteBuffer tape;
+	final ByteBuffer pool;
+
+	private JSONTape(ByteBuffer tape, ByteBuffer pool) {
+		this.tape = tape;
+		this.pool = pool;
+	}
+
+	/**
+	 * @return a cursor on the root value
+	 */
+	public JSONTapeCursor root() {
+		return new JSONTapeCursor(this, 0);
+	}
+
+	/**
+	 * @return tape size in bytes
+	 */
+	public int getTapeSize() {
+		return tape.limit();
+	}
+
+	/**
+	 * @return string pool size in bytes
+	 */
+	public int getPoolSize() {
+		return pool.limit();
+	}
+
+	public static JSONTape parse(String in) throws ParseException {
+		Builder b = new Builder(in.length());
+		new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, new FakeContainerFactory(), b);
+		return b.build();
+	}
+
+	public static JSONTape parse(byte[] in) throws ParseException {
+		Builder b = new Builder(in.length);
+		new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, new FakeContainerFactory(), b);
+		return b.build();
+	}
+
+	public static JSONTape parse(Reader in) throws ParseException {
+		Builder b = new Builder(4096);
+		new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, new FakeContainerFactory(), b);
+		return b.build();
+	}
+
+	public static JSONTape parse(InputStream in) throws ParseException {
+		Builder b = new Builder(4096);
+		new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, new FakeContainerFactory(), b);
+		return b.build();
+	}
+
+	/**
+	 * @return offset of the value following the one at p
+	 */
+	int skip(int p) {
+		switch (tape.get(p)) {
+		case T_NULL:
+		case T_TRUE:
+		case T_FALSE:
+			return p + 1;
+		case T_LONG:
+		case T_DOUBLE:
+			return p + 9;
+		case T_OBJECT:
+		case T_ARRAY:
+			return tape.getInt(p + 5);
+		default:
+			return p + 5;
+		}
+	}
+
+	String poolString(int ref) {
+		int len = pool.getInt(ref);
+		char[] b = new char[len];
+		ref += 4;
+		for (int i = 0; i < len; i++)
+			b[i] = pool.getChar(ref + i * 2);
+		return new String(b);
+	}
+
+	boolean poolEquals(int ref, String s) {
+		int len = pool.getInt(ref);
+		if (len != s.length())
+			return false;
+		ref += 4;
+		for (int i = 0; i < len; i++)
+			if (pool.getChar(ref + i * 2) != s.charAt(i))
+				return false;
+		return true;
+	}
+
+	/**
+	 * SAX handler writing the tape
+	 */
+	private static class Builder implements ContentHandler {
+		ByteBuffer tape;
+		ByteBuffer pool;
+		HashMap<String, Integer> keys = new HashMap<String, Integer>();
+		/*
+		 * open containers
+		 */
+		int[] start = new int[16];
+		int[] count = new int[16];
+		boolean[] isArray = new boolean[16];
+		int depth = -1;
+
+		Builder(int sizeHint) {
+			tape = ByteBuffer.allocateDirect(Math.max(64, sizeHint));
+			pool = ByteBuffer.allocateDirect(Math.max(64, sizeHint));
+		}
+
+		JSONTape build() {
+			tape.flip();
+			pool.flip();
+			return new JSONTape(tape.asReadOnlyBuffer(), pool.asReadOnlyBuffer());
+		}
+
+		private static ByteBuffer ensure(ByteBuffer b, int n) {
+			if (b.remaining() >= n)
+				return b;
+			long needed = (long) b.position() + n;
+			if (needed > Integer.MAX_VALUE)
+				throw new IllegalStateException("JSONTape can not store more than 2GB");
+			// doubling past 1GB is clamped to the max buffer size
+			long cap = Math.min(Math.max((long) b.capacity() * 2, needed), Integer.MAX_VALUE);
+			ByteBuffer nb = ByteBuffer.allocateDirect((int) cap);
+			b.flip();
+			nb.put(b);
+			return nb;
+		}
+
+		private int addString(String s) {
+			int len = s.length();
+			pool = ensure(pool, 4 + len * 2);
+			int ref = pool.position();
+			pool.putInt(len);
+			for (int i = 0; i < len; i++)
+				pool.putChar(s.charAt(i));
+			return ref;
+		}
+
+		private void newValue() {
+			if (depth >= 0 && isArray[depth])
+				count[depth]++;
+		}
+
+		private void writeRef(byte tag, int ref) {
+			tape = ensure(tape, 5);
+			tape.put(tag);
+			tape.putInt(ref);
+		}
+
+		private void open(byte tag) {
+			newValue();
+			if (++depth == start.length) {
+				int[] s2 = new int[depth * 2];
+				System.arraycopy(start, 0, s2, 0, depth);
+				start = s2;
+				int[] c2 = new int[depth * 2];
+				System.arraycopy(count, 0, c2, 0, depth);
+				count = c2;
+				boolean[] a2 = new boolean[depth * 2];
+				System.arraycopy(isArray, 0, a2, 0, depth);
+				isArray = a2;
+			}
+			tape = ensure(tape, 9);
+			start[depth] = tape.position();
+			count[depth] = 0;
+			isArray[depth] = (tag == T_ARRAY);
+			tape.put(tag);
+			tape.putInt(0);
+			tape.putInt(0);
+		}
+
+		private void close() {
+			int p = start[depth];
+			tape.putInt(p + 1, count[depth]);
+			tape.putInt(p + 5, tape.position());
+			depth--;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public void startJSON() throws ParseException, IOException {
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public void endJSON() throws ParseException, IOException {
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean startObject() throws ParseException, IOException {
+			open(T_OBJECT);
+			return false;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean endObject() throws ParseException, IOException {
+			close();
+			return false;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean startObjectEntry(String key) throws ParseException, IOException {
+			Integer ref = keys.get(key);
+			if (ref == null) {
+				ref = addString(key);
+				keys.put(key, ref);
+			}
+			tape = ensure(tape, 4);
+			tape.putInt(ref);
+			count[depth]++;
+			return false;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean endObjectEntry() throws ParseException, IOException {
+			return false;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean startArray() throws ParseException, IOException {
+			open(T_ARRAY);
+			return false;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean endArray() throws ParseException, IOException {
+			close();
+			return false;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public boolean primitive(Object value) throws ParseException, IOException {
+			newValue();
+			tape = ensure(tape, 9);
+			if (value == null)
+				tape.put(T_NULL);
+			else if (value instanceof Boolean)
+				tape.put(((Boolean) value).booleanValue() ? T_TRUE : T_FALSE);
+			else if (value instanceof Integer) {
+				tape.put(T_INT);
+				tape.putInt(((Integer) value).intValue());
+			} else if (value instanceof Long) {
+				tape.put(T_LONG);
+				tape.putLong(((Long) value).longValue());
+			} else if (value instanceof Float) {
+				tape.put(T_FLOAT);
+				tape.putFloat(((Float) value).floatValue());
+			} else if (value instanceof Double) {
+				tape.put(T_DOUBLE);
+				tape.putDouble(((Double) value).doubleValue());
+			} else if (value instanceof BigInteger)
+				writeRef(T_BIG_INTEGER, addString(value.toString()));
+			else if (value instanceof BigDecimal)
+				writeRef(T_BIG_DECIMAL, addString(value.toString()));
+			else
+				writeRef(T_STRING, addString(value.toString()));
+			return false;
+		}
+	}
+}
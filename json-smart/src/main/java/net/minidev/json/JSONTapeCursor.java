@@ -0,0 +1,366 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import static net.minidev.json.JSONTape.T_ARRAY;
+import static net.minidev.json.JSONTape.T_BIG_DECIMAL;
+import static net.minidev.json.JSONTape.T_BIG_INTEGER;
+import static net.minidev.json.JSONTape.T_DOUBLE;
+import static net.minidev.json.JSONTape.T_FALSE;
+import static net.minidev.json.JSONTape.T_FLOAT;
+import static net.minidev.json.JSONTape.T_INT;
+import static net.minidev.json.JSONTape.T_LONG;
+import static net.minidev.json.JSONTape.T_NULL;
+import static net.minidev.json.JSONTape.T_OBJECT;
+import static net.minidev.json.JSONTape.T_STRING;
+import static net.minidev.json.JSONTape.T_TRUE;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import net.minidev.json.reader.JsonOutput;
+import net.minidev.json.reader.JsonWriter;
+
+/**
+ * Read only pointer on a value stored in a {@link JSONTape}. Cursors are
+ * immutable and can be shared between threads.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONTapeCursor implements JSONStreamAwareEx, JSONAwareEx {
+	private final JSONTape src;
+	private final int pos;
+
+	JSONTapeCursor(JSONTape src, int pos) {
+		this.src = src;
+		this.pos = pos;
+	}
+
+	/**
+	 * @return one of the JSONTape.T_* constants
+	 */
+	public byte getType() {
+		return src.tape.get(pos);
+	}
+
+	public boolean isObject() {
+		return getType() == T_OBJECT;
+	}
+
+	public boolean isArray() {
+		return getType() == T_ARRAY;
+	}
+
+	public boolean isNull() {
+		return getType() == T_NULL;
+	}
+
+	/**
+	 * @return number of entries of an Object or an Array, 1 for other values
+	 */
+	public int size() {
+		byte t = getType();
+		if (t == T_OBJECT || t == T_ARRAY)
+			return src.tape.getInt(pos + 1);
+		return 1;
+	}
+
+	/**
+	 * Look for a key in the current Object
+	 *
+	 * @return the value cursor, or null if the key is missing or if the
+	 *         current value is not an Object
+	 */
+	public JSONTapeCursor get(String key) {
+		if (!isObject())
+			return null;
+		ByteBuffer tape = src.tape;
+		int n = tape.getInt(pos + 1);
+		int p = pos + 9;
+		for (int i = 0; i < n; i++) {
+			if (src.poolEquals(tape.getInt(p), key))
+				return new JSONTapeCursor(src, p + 4);
+			p = src.skip(p + 4);
+		}
+		return null;
+	}
+
+	/**
+	 * @return the index-th value of the current Array or Object
+	 */
+	public JSONTapeCursor get(int index) {
+		int p = entry(index);
+		if (isObject())
+			p += 4;
+		return new JSONTapeCursor(src, p);
+	}
+
+	/**
+	 * @return the index-th key of the current Object
+	 */
+	public String keyAt(int index) {
+		if (!isObject())
+			throw new IllegalStateException("current node is not an Object");
+		return src.poolString(src.tape.getInt(entry(index)));
+	}
+
+	private int entry(int index) {
+		byte t = getType();
+		if (t != T_OBJECT && t != T_ARRAY)
+			throw new IllegalStateException("current node is not an Object or an Array");
+		int n = src.tape.getInt(pos + 1);
+		if (index < 0 || index >= n)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + n);
+		int p = pos + 9;
+		for (int i = 0; i < index; i++) {
+			if (t == T_OBJECT)
+				p += 4;
+			p = src.skip(p);
+		}
+		return p;
+	}
+
+	public boolean asBoolean() {
+		return getType() == T_TRUE;
+	}
+
+	public long asLong() {
+		switch (getType()) {
+		case T_INT:
+			return src.tape.getInt(pos + 1);
+		case T_LONG:
+			return src.tape.getLong(pos + 1);
+		default:
+			return asNumber().longValue();
+		}
+	}
+
+	public double asDouble() {
+		switch (getType()) {
+		case T_FLOAT:
+			return src.tape.getFloat(pos + 1);
+		case T_DOUBLE:
+			return src.tape.getDouble(pos + 1);
+		case T_INT:
+		case T_LONG:
+			return asLong();
+		default:
+			return asNumber().doubleValue();
+		}
+	}
+
+	/**
+	 * @return the Number stored at this position, null if it's not a Number
+	 */
+	public Number asNumber() {
+		ByteBuffer tape = src.tape;
+		switch (getType()) {
+		case T_INT:
+			return tape.getInt(pos + 1);
+		case T_LONG:
+			return tape.getLong(pos + 1);
+		case T_FLOAT:
+			return tape.getFloat(pos + 1);
+		case T_DOUBLE:
+			return tape.getDouble(pos + 1);
+		case T_BIG_INTEGER:
+			return new BigInteger(src.poolString(tape.getInt(pos + 1)));
+		case T_BIG_DECIMAL:
+			return new BigDecimal(src.poolString(tape.getInt(pos + 1)));
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return the String stored at this position, null if it's not a String
+	 */
+	public String asString() {
+		if (getType() != T_STRING)
+			return null;
+		return src.poolString(src.tape.getInt(pos + 1));
+	}
+
+	/**
+	 * Build the heap representation of the value, JSONObject, JSONArray,
+	 * String, Number, Boolean or null
+	 */
+	public Object toObject() {
+		switch (getType()) {
+		case T_NULL:
+			return null;
+		case T_TRUE:
+			return Boolean.TRUE;
+		case T_FALSE:
+			return Boolean.FALSE;
+		case T_STRING:
+			return asString();
+		case T_OBJECT: {
+			JSONObject obj = new JSONObject();
+			int n = size();
+			int p = pos + 9;
+			for (int i = 0; i < n; i++) {
+				String key = src.poolString(src.tape.getInt(p));
+				obj.put(key, new JSONTapeCursor(src, p + 4).toObject());
+				p = src.skip(p + 4);
+			}
+			return obj;
+		}
+		case T_ARRAY: {
+			JSONArray arr = new JSONArray();
+			int n = size();
+			int p = pos + 9;
+			for (int i = 0; i < n; i++) {
+				arr.add(new JSONTapeCursor(src, p).toObject());
+				p = src.skip(p);
+			}
+			return arr;
+		}
+		default:
+			return asNumber();
+		}
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	/**
+	 * Serialize directly from the tape, numbers are written by the JsonOutput
+	 * number writers, NaN and infinite values as null
+	 */
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		if (out instanceof JsonOutput) {
+			write(pos, out, compression);
+			return;
+		}
+		JsonOutput o = new JsonOutput(out);
+		write(pos, o, compression);
+		o.flush();
+	}
+
+	private int write(int p, Appendable out, JSONStyle compression) throws IOException {
+		ByteBuffer tape = src.tape;
+		switch (tape.get(p)) {
+		case T_NULL:
+			out.append("null");
+			return p + 1;
+		case T_TRUE:
+			out.append("true");
+			return p + 1;
+		case T_FALSE:
+			out.append("false");
+			return p + 1;
+		case T_INT:
+			JsonWriter.writeLong(tape.getInt(p + 1), out);
+			return p + 5;
+		case T_LONG:
+			JsonWriter.writeLong(tape.getLong(p + 1), out);
+			return p + 9;
+		case T_FLOAT: {
+			// NaN and infinite values have no JSON form
+			float f = tape.getFloat(p + 1);
+			if (Float.isNaN(f) || Float.isInfinite(f))
+				out.append("null");
+			else
+				JsonWriter.writeFloat(f, out);
+			return p + 5;
+		}
+		case T_DOUBLE: {
+			double d = tape.getDouble(p + 1);
+			if (Double.isNaN(d) || Double.isInfinite(d))
+				out.append("null");
+			else
+				JsonWriter.writeDouble(d, out);
+			return p + 9;
+		}
+		case T_BIG_INTEGER:
+		case T_BIG_DECIMAL:
+			out.append(src.poolString(tape.getInt(p + 1)));
+			return p + 5;
+		case T_STRING:
+			compression.writeString(out, src.poolString(tape.getInt(p + 1)));
+			return p + 5;
+		case T_OBJECT: {
+			int n = tape.getInt(p + 1);
+			int end = tape.getInt(p + 5);
+			p += 9;
+			boolean first = true;
+			compression.objectStart(out);
+			for (int i = 0; i < n; i++) {
+				int v = p + 4;
+				if (tape.get(v) == T_NULL && compression.ignoreNull()) {
+					p = v + 1;
+					continue;
+				}
+				if (first) {
+					compression.objectFirstStart(out);
+					first = false;
+				} else {
+					compression.objectNext(out);
+				}
+				String key = src.poolString(tape.getInt(p));
+				compression.writeKey(out, key);
+				compression.objectEndOfKey(out);
+				p = write(v, out, compression);
+				compression.objectElmStop(out);
+			}
+			compression.objectStop(out);
+			return end;
+		}
+		case T_ARRAY: {
+			int n = tape.getInt(p + 1);
+			int end = tape.getInt(p + 5);
+			p += 9;
+			compression.arrayStart(out);
+			for (int i = 0; i < n; i++) {
+				if (i == 0)
+					compression.arrayfirstObject(out);
+				else
+					compression.arrayNextElm(out);
+				p = write(p, out, compression);
+				compression.arrayObjectEnd(out);
+			}
+			compression.arrayStop(out);
+			return end;
+		}
+		default:
+			throw new IllegalStateException("corrupted JSONTape at " + p);
+		}
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		JsonOutput out = new JsonOutput();
+		try {
+			write(pos, out, compression);
+		} catch (IOException e) {
+			// can not happen without target
+		}
+		return out.toString();
+	}
+
+	public String toString() {
+		return toJSONString();
+	}
+}
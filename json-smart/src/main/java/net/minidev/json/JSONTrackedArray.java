@@ -0,0 +1,195 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Collection;
+
+/**
+ * A JSONArray keeping its serialized form, dropped when it or one of its
+ * tracked sub-containers is modified. Writing a document again only
+ * serializes the modified containers, other ones copy their cached text.
+ *
+ * Modifications through add, addAll, set, remove, removeAll, retainAll, clear
+ * and iterators are tracked. After a modification through a subList, or of a
+ * value that is neither a JSONTrackedObject nor a JSONTrackedArray, call
+ * {@link #markDirty()}.
+ *
+ * Only plain JSONStyle instances are cached. Not thread-safe.
+ *
+ * Parsed with {@link JSONValue#parseKeepingSource(String)}, unmodified
+ * containers are written as their original text, whatever the JSONStyle.
+ * Modified containers are serialized entirely, scalar values included.
+ *
+ * @see JSONValue#parseTracked(String)
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONTrackedArray extends JSONArray {
+	private static final long serialVersionUID = -6012395378146582374L;
+
+	transient JSONTracker tracker = new JSONTracker();
+
+	public JSONTrackedArray() {
+		super();
+	}
+
+	public JSONTrackedArray(int initialCapacity) {
+		super(initialCapacity);
+	}
+
+	/**
+	 * drop the cached text of this array and all tracked containers holding
+	 * it
+	 */
+	public void markDirty() {
+		tracker.markDirty();
+	}
+
+	/**
+	 * @return true if the text of this array is not cached
+	 */
+	public boolean isDirty() {
+		return tracker.cached == null && tracker.source == null;
+	}
+
+	public boolean add(Object value) {
+		super.add(value);
+		tracker.attach(value);
+		tracker.markDirty();
+		return true;
+	}
+
+	public void add(int index, Object value) {
+		super.add(index, value);
+		tracker.attach(value);
+		tracker.markDirty();
+	}
+
+	public boolean addAll(Collection<? extends Object> c) {
+		return addAll(size(), c);
+	}
+
+	public boolean addAll(int index, Collection<? extends Object> c) {
+		if (!super.addAll(index, c))
+			return false;
+		for (Object value : c)
+			tracker.attach(value);
+		tracker.markDirty();
+		return true;
+	}
+
+	public Object set(int index, Object value) {
+		Object old = super.set(index, value);
+		if (old != value) {
+			tracker.detach(old);
+			tracker.attach(value);
+		}
+		tracker.markDirty();
+		return old;
+	}
+
+	public Object remove(int index) {
+		Object old = super.remove(index);
+		tracker.detach(old);
+		tracker.markDirty();
+		return old;
+	}
+
+	public boolean remove(Object value) {
+		int index = indexOf(value);
+		if (index < 0)
+			return false;
+		remove(index);
+		return true;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		return retain(c, false);
+	}
+
+	public boolean retainAll(Collection<?> c) {
+		return retain(c, true);
+	}
+
+	private boolean retain(Collection<?> c, boolean keep) {
+		boolean modified = false;
+		for (int i = size() - 1; i >= 0; i--) {
+			if (c.contains(get(i)) != keep) {
+				remove(i);
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	public void clear() {
+		for (Object value : this)
+			tracker.detach(value);
+		super.clear();
+		tracker.markDirty();
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		if (tracker.source != null)
+			out.append(tracker.source, tracker.start, tracker.end);
+		else if (CachedJSON.cacheable(compression))
+			out.append(toJSONString(compression));
+		else
+			writeJSONString(this, out, compression);
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		if (tracker.source != null)
+			return tracker.source.substring(tracker.start, tracker.end);
+		CachedJSON c = tracker.cached;
+		if (c != null && c.style == compression)
+			return c.text;
+		String text = toJSONString(this, compression);
+		if (CachedJSON.cacheable(compression))
+			tracker.cached = new CachedJSON(compression, text);
+		return text;
+	}
+
+	public String toString(JSONStyle compression) {
+		return toJSONString(compression);
+	}
+
+	/**
+	 * rebuild the tracking state, not serialized
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		tracker = new JSONTracker();
+		for (Object value : this)
+			tracker.attach(value);
+	}
+
+	public String toString() {
+		return toJSONString();
+	}
+}
@@ -0,0 +1,149 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Map;
+
+/**
+ * A JSONObject keeping its serialized form, dropped when it or one of its
+ * tracked sub-containers is modified. Writing a document again only
+ * serializes the modified containers, other ones copy their cached text.
+ *
+ * Modifications through put, putAll, remove and clear are tracked. After a
+ * modification through the keySet, values or entrySet views, or of a value
+ * that is neither a JSONTrackedObject nor a JSONTrackedArray, call
+ * {@link #markDirty()}.
+ *
+ * Only plain JSONStyle instances are cached. Not thread-safe.
+ *
+ * Parsed with {@link JSONValue#parseKeepingSource(String)}, unmodified
+ * containers are written as their original text, whatever the JSONStyle.
+ * Modified containers are serialized entirely, scalar values included.
+ *
+ * @see JSONValue#parseTracked(String)
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JSONTrackedObject extends JSONObject {
+	private static final long serialVersionUID = 2954103632384911421L;
+
+	transient JSONTracker tracker = new JSONTracker();
+
+	public JSONTrackedObject() {
+		super();
+	}
+
+	public JSONTrackedObject(int initialCapacity) {
+		super(initialCapacity);
+	}
+
+	/**
+	 * drop the cached text of this object and all tracked containers holding
+	 * it
+	 */
+	public void markDirty() {
+		tracker.markDirty();
+	}
+
+	/**
+	 * @return true if the text of this object is not cached
+	 */
+	public boolean isDirty() {
+		return tracker.cached == null && tracker.source == null;
+	}
+
+	public Object put(String key, Object value) {
+		Object old = super.put(key, value);
+		if (old != value) {
+			tracker.detach(old);
+			tracker.attach(value);
+		}
+		tracker.markDirty();
+		return old;
+	}
+
+	public void putAll(Map<? extends String, ? extends Object> m) {
+		for (Map.Entry<? extends String, ? extends Object> e : m.entrySet())
+			put(e.getKey(), e.getValue());
+	}
+
+	public Object remove(Object key) {
+		if (!containsKey(key))
+			return null;
+		Object old = super.remove(key);
+		tracker.detach(old);
+		tracker.markDirty();
+		return old;
+	}
+
+	public void clear() {
+		for (Object v : values())
+			tracker.detach(v);
+		super.clear();
+		tracker.markDirty();
+	}
+
+	public void writeJSONString(Appendable out) throws IOException {
+		writeJSONString(out, JSONValue.COMPRESSION);
+	}
+
+	public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+		if (tracker.source != null)
+			out.append(tracker.source, tracker.start, tracker.end);
+		else if (CachedJSON.cacheable(compression))
+			out.append(toJSONString(compression));
+		else
+			writeJSON(this, out, compression);
+	}
+
+	public String toJSONString() {
+		return toJSONString(JSONValue.COMPRESSION);
+	}
+
+	public String toJSONString(JSONStyle compression) {
+		if (tracker.source != null)
+			return tracker.source.substring(tracker.start, tracker.end);
+		CachedJSON c = tracker.cached;
+		if (c != null && c.style == compression)
+			return c.text;
+		String text = toJSONString(this, compression);
+		if (CachedJSON.cacheable(compression))
+			tracker.cached = new CachedJSON(compression, text);
+		return text;
+	}
+
+	public String toString(JSONStyle compression) {
+		return toJSONString(compression);
+	}
+
+	/**
+	 * rebuild the tracking state, not serialized
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		tracker = new JSONTracker();
+		for (Object value : values())
+			tracker.attach(value);
+	}
+
+	public String toString() {
+		return toJSONString();
+	}
+}
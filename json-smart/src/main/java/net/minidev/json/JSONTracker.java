@@ -0,0 +1,95 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Dirty tracking state of a {@link JSONTrackedObject} or
+ * {@link JSONTrackedArray}: the containers holding it, and its serialized form
+ * for the last used JSONStyle or its range in the parsed text, both dropped on
+ * modification.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class JSONTracker {
+	/**
+	 * tracked containers holding the owner, a value shared by several
+	 * containers has several parents
+	 */
+	private JSONTracker[] parents = new JSONTracker[1];
+	private int nbParents;
+	CachedJSON cached;
+	/**
+	 * parsed text, the container text is source[start, end[
+	 */
+	String source;
+	int start;
+	int end;
+
+	/**
+	 * drop the cached text of this container and all its ancestors
+	 */
+	void markDirty() {
+		cached = null;
+		source = null;
+		for (int i = 0; i < nbParents; i++)
+			parents[i].markDirty();
+	}
+
+	/**
+	 * @return the tracker of value, null if value is not tracked
+	 */
+	static JSONTracker of(Object value) {
+		if (value instanceof JSONTrackedObject)
+			return ((JSONTrackedObject) value).tracker;
+		if (value instanceof JSONTrackedArray)
+			return ((JSONTrackedArray) value).tracker;
+		return null;
+	}
+
+	/**
+	 * value was added to this container
+	 */
+	void attach(Object value) {
+		JSONTracker t = of(value);
+		if (t == null)
+			return;
+		if (t.nbParents == t.parents.length) {
+			JSONTracker[] p2 = new JSONTracker[t.nbParents * 2];
+			System.arraycopy(t.parents, 0, p2, 0, t.nbParents);
+			t.parents = p2;
+		}
+		t.parents[t.nbParents++] = this;
+	}
+
+	/**
+	 * value was removed from this container
+	 */
+	void detach(Object value) {
+		JSONTracker t = of(value);
+		if (t == null)
+			return;
+		for (int i = 0; i < t.nbParents; i++) {
+			if (t.parents[i] == this) {
+				t.nbParents--;
+				System.arraycopy(t.parents, i + 1, t.parents, i, t.nbParents - i);
+				t.parents[t.nbParents] = null;
+				return;
+			}
+		}
+	}
+}
@@ -16,6 +16,22 @@ package net.minidev.json;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * @author Uriel Chemouni <uchemouni@gmail.com>
  */
@@ -66,4 +82,191 @@ public class JSONUtil {
 		}
 		return new String(b);
 	}
+
+	/**
+	 * @return true if all the instance fields of cls and its super classes
+	 *         are final, transient fields excepted, and there is at least one
+	 * @since 1.3.2
+	 */
+	public static boolean isImmutable(Class<?> cls) {
+		boolean found = false;
+		for (Class<?> c = cls; c != Object.class && c != null; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				int m = field.getModifiers();
+				if ((m & (Modifier.STATIC | Modifier.TRANSIENT)) > 0 || field.isSynthetic())
+					continue;
+				if ((m & Modifier.FINAL) == 0)
+					return false;
+				found = true;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Get the creator building an immutable class: a constructor, or else a
+	 * static factory method, taking one parameter per instance field of cls,
+	 * in field order. Such classes are written with their final fields and
+	 * bound through their creator.
+	 * 
+	 * Used only for classes without default constructor. The field order is
+	 * the record component order for records. Otherwise, as the
+	 * getDeclaredFields order is not specified, fields must all have distinct
+	 * types so parameters can only match one way.
+	 * 
+	 * @return the Constructor or Method, null if cls is not built by a
+	 *         creator
+	 * @see #getCreatorFields(Class)
+	 * @since 1.3.2
+	 */
+	public static Member getCreator(Class<?> cls) {
+		if (cls.isInterface() || Modifier.isAbstract(cls.getModifiers()) || !isImmutable(cls))
+			return null;
+		try {
+			cls.getDeclaredConstructor();
+			return null;
+		} catch (NoSuchMethodException e) {
+			// no default constructor
+		}
+		Field[] fields = getCreatorFields(cls);
+		if (fields == null)
+			return null;
+		Class<?>[] types = new Class<?>[fields.length];
+		for (int i = 0; i < fields.length; i++)
+			types[i] = fields[i].getType();
+		try {
+			return cls.getDeclaredConstructor(types);
+		} catch (NoSuchMethodException e) {
+			// try factories
+		}
+		for (Method m : cls.getDeclaredMethods())
+			if (Modifier.isStatic(m.getModifiers()) && m.getReturnType() == cls
+					&& Arrays.equals(m.getParameterTypes(), types))
+				return m;
+		return null;
+	}
+
+	/**
+	 * @return the non static, non transient fields declared in cls, in
+	 *         creator parameter order, null if this order is ambiguous
+	 * @see #getCreator(Class)
+	 * @since 1.3.2
+	 */
+	public static Field[] getCreatorFields(Class<?> cls) {
+		ArrayList<Field> fields = new ArrayList<Field>();
+		for (Field field : cls.getDeclaredFields()) {
+			int m = field.getModifiers();
+			if ((m & (Modifier.STATIC | Modifier.TRANSIENT)) == 0 && !field.isSynthetic())
+				fields.add(field);
+		}
+		String[] components = recordComponents(cls);
+		if (components != null) {
+			if (components.length != fields.size())
+				return null;
+			Field[] ordered = new Field[components.length];
+			for (int i = 0; i < components.length; i++)
+				for (Field field : fields)
+					if (field.getName().equals(components[i]))
+						ordered[i] = field;
+			for (Field field : ordered)
+				if (field == null)
+					return null;
+			return ordered;
+		}
+		HashSet<Class<?>> types = new HashSet<Class<?>>();
+		for (Field field : fields)
+			if (!types.add(field.getType()))
+				return null;
+		return fields.toArray(new Field[fields.size()]);
+	}
+
+	/**
+	 * @return record component names, read by reflection to stay compatible
+	 *         with old JDK, null if cls is not a record
+	 */
+	private static String[] recordComponents(Class<?> cls) {
+		Class<?> sup = cls.getSuperclass();
+		if (sup == null || !sup.getName().equals("java.lang.Record"))
+			return null;
+		try {
+			Object[] comps = (Object[]) Class.class.getMethod("getRecordComponents").invoke(cls);
+			String[] names = new String[comps.length];
+			for (int i = 0; i < comps.length; i++)
+				names[i] = (String) comps[i].getClass().getMethod("getName").invoke(comps[i]);
+			return names;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the context ClassLoader of the current thread, or the
+	 *         json-smart ClassLoader if there is none
+	 * @since 1.3.2
+	 */
+	public static ClassLoader defaultLoader() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		if (loader == null)
+			loader = JSONUtil.class.getClassLoader();
+		return loader;
+	}
+
+	/**
+	 * Create one instance of each class listed in the
+	 * META-INF/services/[service class name] resources visible from loader,
+	 * one class name per line, '#' starting a comment. Classes are loaded
+	 * with loader and need a public default constructor.
+	 * 
+	 * Unreadable resources and failing entries are logged as warnings on the
+	 * net.minidev.json logger and skipped.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static <T> List<T> loadServices(Class<T> service, ClassLoader loader) {
+		List<T> services = new ArrayList<T>();
+		if (loader == null)
+			return services;
+		Logger log = Logger.getLogger("net.minidev.json");
+		String resource = "META-INF/services/" + service.getName();
+		Enumeration<URL> urls;
+		try {
+			urls = loader.getResources(resource);
+		} catch (IOException e) {
+			log.log(Level.WARNING, "can not list " + resource, e);
+			return services;
+		}
+		HashSet<String> done = new HashSet<String>();
+		while (urls.hasMoreElements()) {
+			URL url = urls.nextElement();
+			BufferedReader in = null;
+			try {
+				in = new BufferedReader(new InputStreamReader(url.openStream(), "UTF-8"));
+				String line;
+				while ((line = in.readLine()) != null) {
+					int p = line.indexOf('#');
+					if (p >= 0)
+						line = line.substring(0, p);
+					line = line.trim();
+					if (line.length() == 0 || !done.add(line))
+						continue;
+					try {
+						services.add(service.cast(Class.forName(line, true, loader).newInstance()));
+					} catch (Exception e) {
+						log.log(Level.WARNING, "can not load " + service.getSimpleName() + " " + line, e);
+					} catch (LinkageError e) {
+						log.log(Level.WARNING, "can not load " + service.getSimpleName() + " " + line, e);
+					}
+				}
+			} catch (IOException e) {
+				log.log(Level.WARNING, "can not read " + url, e);
+			} finally {
+				if (in != null)
+					try {
+						in.close();
+					} catch (IOException e) {
+					}
+			}
+		}
+		return services;
+	}
 }
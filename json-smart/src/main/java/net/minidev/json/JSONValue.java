@@ -17,12 +17,15 @@ package net.minidev.json;
  */
 import static net.minidev.json.parser.ContainerFactory.FACTORY_ORDERED;
 import static net.minidev.json.parser.ContainerFactory.FACTORY_SIMPLE;
+import static net.minidev.json.parser.ContainerFactory.FACTORY_TRACKED;
 import static net.minidev.json.parser.JSONParser.DEFAULT_PERMISSIVE_MODE;
 import static net.minidev.json.parser.JSONParser.MODE_RFC4627;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -30,9 +33,12 @@ import net.minidev.json.parser.ContentHandler;
 import net.minidev.json.parser.ContentHandlerCompressor;
 import net.minidev.json.parser.FakeContainerFactory;
 import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.JsonReader;
 import net.minidev.json.parser.ParseException;
+import net.minidev.json.reader.JsonOutput;
 import net.minidev.json.reader.JsonWriter;
 import net.minidev.json.reader.JsonWriterI;
+import net.minidev.json.reader.Utf8Writer;
 
 /**
  * JSONValue is the helper class In most of case you should use those static
@@ -55,6 +61,13 @@ public class JSONValue {
 	 */
 	private final static FakeContainerFactory FACTORY_FAKE_COINTAINER = new FakeContainerFactory();
 
+	/**
+	 * DEFAULT_PERMISSIVE_MODE without the flags accepting non JSON syntax
+	 */
+	private final static int STRICT_SYNTAX_MODE = DEFAULT_PERMISSIVE_MODE
+			& ~(JSONParser.ACCEPT_SIMPLE_QUOTE | JSONParser.ACCEPT_NON_QUOTE | JSONParser.ACCEPT_NAN
+					| JSONParser.IGNORE_CONTROL_CHAR | JSONParser.ACCEPT_LEADING_ZERO | JSONParser.ACCEPT_USELESS_COMMA);
+
 	/**
 	 * Parse JSON text into java object from the input source. Please use
 	 * parseWithException() if you don't want to ignore the exception. if you
@@ -161,6 +174,37 @@ public class JSONValue {
 		}
 	}
 
+	/**
+	 * Parse JSON text directly into an instance of type, without building an
+	 * intermediate JSONObject. Bean properties are the ones written by the
+	 * serializer, unknown keys are ignored.
+	 * 
+	 * @see JSONParser#parse(String, Class)
+	 * @see #parseWithException(String, Class)
+	 * 
+	 * @return the bound value, or null on error
+	 * @since 1.3.2
+	 */
+	public static <T> T parse(String in, Class<T> type) {
+		try {
+			return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, type);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @see #parse(String, Class)
+	 * @since 1.3.2
+	 */
+	public static <T> T parse(byte[] in, Class<T> type) {
+		try {
+			return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, type);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Parse Json input to a java Object keeping element order
 	 * 
@@ -226,6 +270,63 @@ public class JSONValue {
 		}
 	}
 
+	/**
+	 * Parse Json input to JSONTrackedObject and JSONTrackedArray, so writing
+	 * it again after a few modifications only serializes modified containers
+	 * 
+	 * @since 1.3.2
+	 */
+	public static Object parseTracked(byte[] in) {
+		try {
+			return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, FACTORY_TRACKED);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Parse Json input to JSONTrackedObject and JSONTrackedArray, so writing
+	 * it again after a few modifications only serializes modified containers
+	 * 
+	 * @since 1.3.2
+	 */
+	public static Object parseTracked(String in) {
+		try {
+			return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, FACTORY_TRACKED);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Parse Json input to JSONTrackedObject and JSONTrackedArray keeping their
+	 * range in the input. Written back, unmodified containers are copied from
+	 * the input text, only modified ones are serialized. The parsed document
+	 * keeps a reference on the input.
+	 * 
+	 * The granularity is the container: a modification serializes again the
+	 * modified container and all the containers holding it, with all their
+	 * keys and scalar values, so numbers and escaped Strings of those
+	 * containers take the JSONStyle form ("1.0e2" is written 100.0). Only
+	 * their unmodified sub-containers keep their original text.
+	 * 
+	 * Source text is only kept for strict JSON input. Input using permissive
+	 * syntax, like quote-less or single-quoted Strings, NaN or useless commas,
+	 * is parsed as by {@link #parseTracked(String)}.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static Object parseKeepingSource(String in) {
+		try {
+			return new JSONParser(STRICT_SYNTAX_MODE).parse(in, new SourceFactory(in));
+		} catch (ParseException e) {
+			// permissive syntax, can not be copied to the output
+		} catch (Exception e) {
+			return null;
+		}
+		return parseTracked(in);
+	}
+
 	/**
 	 * Parse Json Using SAX event handler
 	 * 
@@ -357,6 +458,97 @@ public class JSONValue {
 		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(s, FACTORY_SIMPLE);
 	}
 
+	/**
+	 * Parse JSON text directly into an instance of type.
+	 * 
+	 * @see #parse(String, Class)
+	 * @since 1.3.2
+	 */
+	public static <T> T parseWithException(String in, Class<T> type) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, type);
+	}
+
+	/**
+	 * Parse JSON text directly into an instance of type.
+	 * 
+	 * @see #parse(String, Class)
+	 * @since 1.3.2
+	 */
+	public static <T> T parseWithException(byte[] in, Class<T> type) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, type);
+	}
+
+	/**
+	 * Parse a JSON Array of numbers into an int[]. Plain number Arrays are read
+	 * directly into the primitive array, without boxing the values. Fields of
+	 * type int[], long[], double[] and float[] are bound the same way by
+	 * {@link #parse(String, Class)}.
+	 * 
+	 * Values not fitting in the element type, like 2147483648 or 1.5 in an
+	 * int[], raise a ParseException.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static int[] parseIntArray(String in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, int[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static int[] parseIntArray(byte[] in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, int[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static long[] parseLongArray(String in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, long[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static long[] parseLongArray(byte[] in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, long[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static double[] parseDoubleArray(String in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, double[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static double[] parseDoubleArray(byte[] in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, double[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static float[] parseFloatArray(String in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, float[].class);
+	}
+
+	/**
+	 * @see #parseIntArray(String)
+	 * @since 1.3.2
+	 */
+	public static float[] parseFloatArray(byte[] in) throws ParseException {
+		return new JSONParser(DEFAULT_PERMISSIVE_MODE).parse(in, float[].class);
+	}
+
 	/**
 	 * Parse valid RFC4627 JSON text into java object from the input source.
 	 * 
@@ -493,6 +685,13 @@ public class JSONValue {
 
 	public static JsonWriter defaultWriter = new JsonWriter();
 
+	/**
+	 * readers used by the typed parse methods
+	 * 
+	 * @since 1.3.2
+	 */
+	public static JsonReader defaultReader = new JsonReader();
+
 	/**
 	 * Encode an object into JSON text and write it to out.
 	 * <p>
@@ -505,6 +704,12 @@ public class JSONValue {
 	 */
 	@SuppressWarnings("unchecked")
 	public static void writeJSONString(Object value, Appendable out, JSONStyle compression) throws IOException {
+		if (!(out instanceof JsonOutput)) {
+			JsonOutput o = new JsonOutput(out);
+			writeJSONString(value, o, compression);
+			o.flush();
+			return;
+		}
 		if (value == null) {
 			out.append("null");
 			return;
@@ -518,7 +723,7 @@ public class JSONValue {
 			else {
 				w = defaultWriter.getWriterByInterface(value.getClass());
 				if (w == null)
-					w = JsonWriter.beansWriter;
+					w = JsonWriter.getBeanWriter(clz);
 				// w = JsonWriter.beansWriterASM;
 
 			}
@@ -558,13 +763,85 @@ public class JSONValue {
 	 *         number.
 	 */
 	public static String toJSONString(Object value, JSONStyle compression) {
-		StringBuilder sb = new StringBuilder();
+		JsonOutput out = new JsonOutput();
 		try {
-			writeJSONString(value, sb, compression);
+			writeJSONString(value, out, compression);
 		} catch (IOException e) {
-			// can not append on a StringBuilder
+			// can not fail without target
 		}
-		return sb.toString();
+		return out.toString();
+	}
+
+	/**
+	 * Encode an object into JSON text and write it to out as UTF-8, without
+	 * building an intermediate String. Bytes are buffered, out is flushed
+	 * before returning.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static void writeJSONBytes(Object value, OutputStream out) throws IOException {
+		writeJSONBytes(value, out, COMPRESSION);
+	}
+
+	/**
+	 * Encode an object into JSON text and write it to out as UTF-8, without
+	 * building an intermediate String. Bytes are buffered, out is flushed
+	 * before returning.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static void writeJSONBytes(Object value, OutputStream out, JSONStyle compression) throws IOException {
+		Utf8Writer w = new Utf8Writer(out);
+		JsonOutput o = new JsonOutput(w);
+		writeJSONString(value, o, compression);
+		o.flush();
+		w.flush();
+	}
+
+	/**
+	 * Convert an object to UTF-8 encoded JSON text.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static byte[] toJSONBytes(Object value) {
+		return toJSONBytes(value, COMPRESSION);
+	}
+
+	/**
+	 * Convert an object to UTF-8 encoded JSON text.
+	 * 
+	 * @since 1.3.2
+	 */
+	public static byte[] toJSONBytes(Object value, JSONStyle compression) {
+		Utf8Writer w = new Utf8Writer();
+		JsonOutput o = new JsonOutput(w);
+		try {
+			writeJSONString(value, o, compression);
+			o.flush();
+			return w.toByteArray();
+		} catch (IOException e) {
+			// no OutputStream, can not fail
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Build a deeply immutable copy of a JSON value, Maps are converted to
+	 * {@link JSONFrozenObject}, Collections and arrays to
+	 * {@link JSONFrozenArray}. Other values are returned as is.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             if a Map has two keys with the same String form
+	 * @since 1.3.2
+	 */
+	public static Object freeze(Object value) {
+		if (value instanceof Map)
+			return JSONFrozenObject.freeze((Map<?, ?>) value);
+		if (value instanceof Collection)
+			return JSONFrozenArray.freeze((Collection<?>) value);
+		if (value != null && value.getClass().isArray())
+			return JSONFrozenArray.freezeArray(value);
+		return value;
 	}
 
 	public static String escape(String s) {
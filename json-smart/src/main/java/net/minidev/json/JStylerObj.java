@@ -28,9 +28,6 @@ class JStylerObj {
 	public final static MPTrue MP_TRUE = new MPTrue();
 	public final static MPAgressive MP_AGGRESIVE = new MPAgressive();
 
-	public final static EscapeLT ESCAPE_LT = new EscapeLT();
-	public final static Escape4Web ESCAPE4Web = new Escape4Web();
-
 	public static interface MustProtect {
 		public boolean mustBeProtect(String s);
 	}
@@ -55,7 +52,7 @@ class JStylerObj {
 			int len = s.length();
 			if (len == 0)
 				return true;
-			if (s.trim() != s)
+			if (s.charAt(0) <= ' ' || s.charAt(len - 1) <= ' ')
 				return true;
 
 			char ch = s.charAt(0);
@@ -90,7 +87,7 @@ class JStylerObj {
 				return true;
 			
 			// protect trimable String
-			if (s.trim() != s)
+			if (s.charAt(0) <= ' ' || s.charAt(len - 1) <= ' ')
 				return true;
 
 			// json special char
@@ -107,57 +104,63 @@ class JStylerObj {
 			if (isKeyword(s))
 				return true;
 			// Digit like text must be protect
-			ch = s.charAt(0);
-			// only test String if First Ch is a digit
-			if (ch >= '0' && ch <= '9' || ch == '-') {
-				int p = 1;
-				// skip first digits
-				for (; p < len; p++) {
-					ch = s.charAt(p);
-					if (ch < '0' || ch > '9')
-						break;
-				}
-				// int/long
-				if (p == len)
-					return true;
-				// Floating point
-				if (ch == '.') {
-					p++;
-				}
-				// Skip digits
-				for (; p < len; p++) {
-					ch = s.charAt(p);
-					if (ch < '0' || ch > '9')
-						break;
-				}
-				if (p == len)
-					return true; // can be read as an floating number
-				// Double
-				if (ch == 'E' || ch == 'e') {
-					p++;
-					if (p == len) // no power data not a digits
-						return false;
-					ch = s.charAt(p);
-					if (ch == '+' || ch == '-')	{
-						p++;
-						ch = s.charAt(p);
-					}
-				}
-				if (p == len) // no power data => not a digit
+			return isNumberLike(s);
+		}
+	}
+
+	/**
+	 * can a unquoted String be read as a number
+	 */
+	static boolean isNumberLike(String s) {
+		int len = s.length();
+		char ch = s.charAt(0);
+		// only test String if First Ch is a digit
+		if (ch >= '0' && ch <= '9' || ch == '-') {
+			int p = 1;
+			// skip first digits
+			for (; p < len; p++) {
+				ch = s.charAt(p);
+				if (ch < '0' || ch > '9')
+					break;
+			}
+			// int/long
+			if (p == len)
+				return true;
+			// Floating point
+			if (ch == '.') {
+				p++;
+			}
+			// Skip digits
+			for (; p < len; p++) {
+				ch = s.charAt(p);
+				if (ch < '0' || ch > '9')
+					break;
+			}
+			if (p == len)
+				return true; // can be read as an floating number
+			// Double
+			if (ch == 'E' || ch == 'e') {
+				p++;
+				if (p == len) // no power data not a digits
 					return false;
-				
-				for (; p < len; p++) {
-					ch = s.charAt(p);
-					if (ch < '0' || ch > '9')
-						break;
-				}
-				// floating point With power of data.
-				if (p == len)
-					return true;
+				ch = s.charAt(p);
+				if (ch == '+' || ch == '-')
+					p++;
+			}
+			if (p == len) // no power data => not a digit
 				return false;
+			
+			for (; p < len; p++) {
+				ch = s.charAt(p);
+				if (ch < '0' || ch > '9')
+					break;
 			}
+			// floating point With power of data.
+			if (p == len)
+				return true;
 			return false;
 		}
+		return false;
 	}
 
 	public static boolean isSpace(char c) {
@@ -199,125 +202,250 @@ class JStylerObj {
 		return false;
 	}
 
+	/**
+	 * check if a part of a text will be modified by ESCAPE_LT or ESCAPE4Web
+	 */
+	public static boolean needEscape(CharSequence s, int start, int stop, boolean protect4Web) {
+		String[] low = protect4Web ? ESC_4WEB : ESC_LT;
+		for (int i = start; i < stop; i++) {
+			char ch = s.charAt(i);
+			if (ch < ESC_LOW_SIZE) {
+				if (low[ch] != null)
+					return true;
+			} else if (ch >= '\u2000' && ch <= '\u20FF')
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * protect levels used by writeString, matching MP_TRUE, MP_SIMPLE and
+	 * MP_AGGRESIVE
+	 */
+	final static int PROTECT_ALWAYS = 0;
+	final static int PROTECT_SIMPLE = 1;
+	final static int PROTECT_AGGRESIVE = 2;
+
+	/**
+	 * char classes for chars under ESC_LOW_SIZE
+	 */
+	private final static byte C_SIMPLE = 1;
+	private final static byte C_AGGRESIVE_FIRST = 2;
+	private final static byte C_AGGRESIVE = 4;
+	private final static byte[] CHAR_CLASS = new byte[0xA0];
+
+	static {
+		for (char ch = 0; ch < CHAR_CLASS.length; ch++) {
+			int c = 0;
+			if (isSpace(ch) || isSpecial(ch) || isSpecialChar(ch) || isUnicode(ch))
+				c |= C_SIMPLE;
+			if (isSpecial(ch) || isUnicode(ch))
+				c |= C_AGGRESIVE_FIRST;
+			if (isSpecialClose(ch) || isUnicode(ch))
+				c |= C_AGGRESIVE;
+			CHAR_CLASS[ch] = (byte) c;
+		}
+	}
+
+	static int protectLevel(MustProtect mp) {
+		if (mp == MP_SIMPLE)
+			return PROTECT_SIMPLE;
+		if (mp == MP_AGGRESIVE)
+			return PROTECT_AGGRESIVE;
+		return PROTECT_ALWAYS;
+	}
+
+	/**
+	 * encodings returned by {@link #encoding(String, int, EscapeTable)}, other
+	 * values are the index of the first char to escape in a quoted String
+	 */
+	final static int ENCODE_RAW = -2;
+	final static int ENCODE_QUOTE = -1;
+
+	/**
+	 * Write a String, quoted and escaped if needed. A single scan find both
+	 * the quoting decision (same result as MP_TRUE, MP_SIMPLE or MP_AGGRESIVE)
+	 * and the first char to escape, escaping restart from this char.
+	 */
+	static void writeString(Appendable out, String s, int protectLevel, EscapeTable esc) throws IOException {
+		writeEncoded(out, s, encoding(s, protectLevel, esc), esc);
+	}
+
+	/**
+	 * @return ENCODE_RAW, ENCODE_QUOTE, or the index of the first char to
+	 *         escape in a quoted String
+	 */
+	static int encoding(String s, int protectLevel, EscapeTable esc) {
+		int len = s.length();
+		boolean protect = protectLevel == PROTECT_ALWAYS || len == 0 || s.charAt(0) <= ' '
+				|| s.charAt(len - 1) <= ' ';
+		int firstEsc = -1;
+		String[] low = esc.low;
+		int mask = protectLevel == PROTECT_SIMPLE ? C_SIMPLE : C_AGGRESIVE;
+		int firstMask = protectLevel == PROTECT_SIMPLE ? C_SIMPLE : C_AGGRESIVE_FIRST;
+		for (int i = 0; i < len; i++) {
+			char ch = s.charAt(i);
+			if (ch < ESC_LOW_SIZE) {
+				if (!protect && (CHAR_CLASS[ch] & (i == 0 ? firstMask : mask)) != 0)
+					protect = true;
+				if (firstEsc < 0 && low[ch] != null)
+					firstEsc = i;
+			} else if (ch >= '\u2000' && ch <= '\u20FF') {
+				protect = true;
+				if (firstEsc < 0)
+					firstEsc = i;
+			}
+			if (protect && firstEsc >= 0)
+				break;
+		}
+		if (!protect) {
+			// whole String scanned, no special char
+			if (isKeyword(s))
+				protect = true;
+			else if (protectLevel == PROTECT_SIMPLE) {
+				char ch = s.charAt(0);
+				protect = ch >= '0' && ch <= '9' || ch == '-';
+			} else
+				protect = isNumberLike(s);
+			if (!protect)
+				return ENCODE_RAW;
+		}
+		return firstEsc < 0 ? ENCODE_QUOTE : firstEsc;
+	}
+
+	/**
+	 * write s as decided by {@link #encoding(String, int, EscapeTable)}
+	 */
+	static void writeEncoded(Appendable out, String s, int encoding, EscapeTable esc) throws IOException {
+		if (encoding == ENCODE_RAW) {
+			out.append(s);
+			return;
+		}
+		out.append('"');
+		if (encoding == ENCODE_QUOTE)
+			out.append(s);
+		else
+			esc.escape(s, encoding, out);
+		out.append('"');
+	}
+
 	public static interface StringProtector {
 		public void escape(String s, Appendable out);
 	}
 
-	private static class EscapeLT implements StringProtector {
+	/**
+	 * chars under this value are escaped using ESC_LT / ESC_4WEB tables
+	 */
+	private final static int ESC_LOW_SIZE = 0xA0;
+	/**
+	 * escape sequences for chars under ESC_LOW_SIZE, null if no escape needed
+	 */
+	private final static String[] ESC_LT = new String[ESC_LOW_SIZE];
+	private final static String[] ESC_4WEB = new String[ESC_LOW_SIZE];
+	/**
+	 * escape sequences for \u2000 to \u20FF
+	 */
+	private final static String[] ESC_U20 = new String[0x100];
+
+	static {
+		// Reference:
+		// http://www.unicode.org/versions/Unicode5.1.0/
+		for (char ch = 0; ch < ESC_LOW_SIZE; ch++)
+			if (ch <= '\u001F' || ch >= '\u007F')
+				ESC_LT[ch] = unicodeEscape(ch);
+		for (int i = 0; i < ESC_U20.length; i++)
+			ESC_U20[i] = unicodeEscape((char) (0x2000 + i));
+		ESC_LT['"'] = "\\\"";
+		ESC_LT['\\'] = "\\\\";
+		ESC_LT['\b'] = "\\b";
+		ESC_LT['\f'] = "\\f";
+		ESC_LT['\n'] = "\\n";
+		ESC_LT['\r'] = "\\r";
+		ESC_LT['\t'] = "\\t";
+		System.arraycopy(ESC_LT, 0, ESC_4WEB, 0, ESC_LOW_SIZE);
+		ESC_4WEB['/'] = "\\/";
+	}
+
+	// declared after the tables static initializer
+	public final static EscapeLT ESCAPE_LT = new EscapeLT();
+	public final static Escape4Web ESCAPE4Web = new Escape4Web();
+
+	private static String unicodeEscape(char ch) {
+		String hex = "0123456789ABCDEF";
+		char[] r = { '\\', 'u', hex.charAt(ch >> 12 & 0x0F), hex.charAt(ch >> 8 & 0x0F), hex.charAt(ch >> 4 & 0x0F),
+				hex.charAt(ch & 0x0F) };
+		return new String(r);
+	}
+
+	/**
+	 * Table driven escaper, unmodified runs are appended with a single call
+	 */
+	static class EscapeTable implements StringProtector {
+		private final String[] low;
+
+		EscapeTable(String[] low) {
+			this.low = low;
+		}
+
 		/**
-		 * Escape special chars form String except /
-		 * 
 		 * @param s
 		 *            - Must not be null.
 		 * @param out
 		 */
 		public void escape(String s, Appendable out) {
+			escape(s, 0, out);
+		}
+
+		/**
+		 * @param from
+		 *            first char to escape, s[0, from[ must not need escape
+		 */
+		void escape(String s, int from, Appendable out) {
 			try {
+				String[] low = this.low;
 				int len = s.length();
-				for (int i = 0; i < len; i++) {
+				int start = 0;
+				for (int i = from; i < len; i++) {
 					char ch = s.charAt(i);
-					switch (ch) {
-					case '"':
-						out.append("\\\"");
-						break;
-					case '\\':
-						out.append("\\\\");
-						break;
-					case '\b':
-						out.append("\\b");
-						break;
-					case '\f':
-						out.append("\\f");
-						break;
-					case '\n':
-						out.append("\\n");
-						break;
-					case '\r':
-						out.append("\\r");
-						break;
-					case '\t':
-						out.append("\\t");
-						break;
-					default:
-						// Reference:
-						// http://www.unicode.org/versions/Unicode5.1.0/
-						if ((ch >= '\u0000' && ch <= '\u001F') || (ch >= '\u007F' && ch <= '\u009F')
-								|| (ch >= '\u2000' && ch <= '\u20FF')) {
-							out.append("\\u");
-							String hex = "0123456789ABCDEF";
-							out.append(hex.charAt(ch >> 12 & 0x000F));
-							out.append(hex.charAt(ch >> 8 & 0x000F));
-							out.append(hex.charAt(ch >> 4 & 0x000F));
-							out.append(hex.charAt(ch >> 0 & 0x000F));
-						} else {
-							out.append(ch);
-						}
-					}
+					String esc;
+					if (ch < ESC_LOW_SIZE) {
+						esc = low[ch];
+						if (esc == null)
+							continue;
+					} else if (ch >= '\u2000' && ch <= '\u20FF')
+						esc = ESC_U20[ch - 0x2000];
+					else
+						continue;
+					if (i > start)
+						out.append(s, start, i);
+					out.append(esc);
+					start = i + 1;
 				}
+				if (start == 0)
+					out.append(s);
+				else if (start < len)
+					out.append(s, start, len);
 			} catch (IOException e) {
 				throw new RuntimeException("Impossible Exeption");
 			}
 		}
 	}
 
-	private static class Escape4Web implements StringProtector {
+	/**
+	 * Escape special chars form String except /
+	 */
+	private static class EscapeLT extends EscapeTable {
+		EscapeLT() {
+			super(ESC_LT);
+		}
+	}
 
-		/**
-		 * Escape special chars form String including /
-		 * 
-		 * @param s
-		 *            - Must not be null.
-		 * @param sb
-		 */
-		public void escape(String s, Appendable sb) {
-			try {
-				int len = s.length();
-				for (int i = 0; i < len; i++) {
-					char ch = s.charAt(i);
-					switch (ch) {
-					case '"':
-						sb.append("\\\"");
-						break;
-					case '\\':
-						sb.append("\\\\");
-						break;
-					case '\b':
-						sb.append("\\b");
-						break;
-					case '\f':
-						sb.append("\\f");
-						break;
-					case '\n':
-						sb.append("\\n");
-						break;
-					case '\r':
-						sb.append("\\r");
-						break;
-					case '\t':
-						sb.append("\\t");
-						break;
-					case '/':
-						sb.append("\\/");
-						break;
-					default:
-						// Reference:
-						// http://www.unicode.org/versions/Unicode5.1.0/
-						if ((ch >= '\u0000' && ch <= '\u001F') || (ch >= '\u007F' && ch <= '\u009F')
-								|| (ch >= '\u2000' && ch <= '\u20FF')) {
-							sb.append("\\u");
-							String hex = "0123456789ABCDEF";
-							sb.append(hex.charAt(ch >> 12 & 0x0F));
-							sb.append(hex.charAt(ch >> 8 & 0x0F));
-							sb.append(hex.charAt(ch >> 4 & 0x0F));
-							sb.append(hex.charAt(ch >> 0 & 0x0F));
-						} else {
-							sb.append(ch);
-						}
-					}
-				}
-			} catch (IOException e) {
-				throw new RuntimeException("Impossible Error");
-			}
+	/**
+	 * Escape special chars form String including /
+	 */
+	private static class Escape4Web extends EscapeTable {
+		Escape4Web() {
+			super(ESC_4WEB);
 		}
 	}
 }
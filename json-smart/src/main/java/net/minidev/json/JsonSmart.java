@@ -0,0 +1,43 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a bean class for the json-smart-processor annotation processor, which
+ * generates a reflection free JsonWriterI for it at compile time, and a
+ * JsonReaderI used by the typed parse methods for non generic classes having
+ * a default constructor. Generated classes are found through
+ * {@link net.minidev.json.reader.JsonWriterProvider} and
+ * {@link net.minidev.json.parser.JsonReaderProvider} service entries.
+ * 
+ * The generated writer and reader use the same fields as the reflective bean
+ * writer and binding.
+ * 
+ * @since 1.3.2
+ * 
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonSmart {
+}
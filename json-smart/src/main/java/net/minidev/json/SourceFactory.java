@@ -0,0 +1,66 @@
+package net.minidev.json;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.List;
+import java.util.Map;
+
+import net.minidev.json.parser.SourceContainerFactory;
+
+/**
+ * Build tracked containers remembering their range in the parsed String.
+ *
+ * @see JSONValue#parseKeepingSource(String)
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class SourceFactory implements SourceContainerFactory {
+	private final String source;
+
+	SourceFactory(String source) {
+		this.source = source;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer() {
+		return new JSONTrackedObject();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer() {
+		return new JSONTrackedArray();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishObjectContainer(Map<String, Object> obj, int start, int end) {
+		keep(((JSONTrackedObject) obj).tracker, start, end);
+		return obj;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishArrayContainer(List<Object> list, int start, int end) {
+		keep(((JSONTrackedArray) list).tracker, start, end);
+		return list;
+	}
+
+	private void keep(JSONTracker tracker, int start, int end) {
+		tracker.source = source;
+		tracker.start = start;
+		tracker.end = end;
+	}
+}
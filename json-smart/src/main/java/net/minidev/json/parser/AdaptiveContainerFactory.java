@@ -0,0 +1,170 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+
+/**
+ * Container factory learning container sizes from previous parses. For each
+ * location in the document (Array indexes are merged) an exponentially
+ * decayed average entry count is kept, and used to presize the JSONObject and
+ * JSONArray created at the same location on next parses.
+ *
+ * Reuse the same instance for messages sharing the same shape. Instances are
+ * thread-safe, statistics updates from concurrent parses may be lost.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class AdaptiveContainerFactory implements PathContainerFactoryEx {
+	/**
+	 * weight of the last observed size
+	 */
+	private final float alpha;
+	private final boolean trimToSize;
+	/**
+	 * bound the number of tracked locations, for documents using dynamic keys
+	 */
+	private final int maxNodes;
+	private final AtomicInteger nbNodes = new AtomicInteger();
+	private final Node root = new Node();
+
+	/**
+	 * statistics for one location
+	 */
+	private static class Node {
+		final ConcurrentHashMap<String, Node> children = new ConcurrentHashMap<String, Node>();
+		volatile Node items;
+		volatile float avg = -1;
+	}
+
+	public AdaptiveContainerFactory() {
+		this(0.25f, false, 4096);
+	}
+
+	/**
+	 * @param alpha
+	 *            weight of the last observed size, between 0 and 1
+	 * @param trimToSize
+	 *            trim JSONArray capacity once filled
+	 * @param maxNodes
+	 *            max number of tracked locations
+	 */
+	public AdaptiveContainerFactory(float alpha, boolean trimToSize, int maxNodes) {
+		this.alpha = alpha;
+		this.trimToSize = trimToSize;
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * @return the average size observed at a location, -1 if unknown
+	 */
+	public float getExpectedSize(ParsePath path) {
+		Node n = find(path);
+		if (n == null)
+			return -1;
+		return n.avg;
+	}
+
+	private Node find(ParsePath path) {
+		Node n = root;
+		int depth = path.getDepth();
+		for (int level = 1; level <= depth; level++) {
+			String key = path.getKey(level);
+			Node next;
+			if (key == null) {
+				next = n.items;
+				if (next == null && nbNodes.get() < maxNodes) {
+					nbNodes.incrementAndGet();
+					next = n.items = new Node();
+				}
+			} else {
+				next = n.children.get(key);
+				if (next == null && nbNodes.get() < maxNodes) {
+					Node tmp = new Node();
+					next = n.children.putIfAbsent(key, tmp);
+					if (next == null) {
+						nbNodes.incrementAndGet();
+						next = tmp;
+					}
+				}
+			}
+			if (next == null)
+				return null;
+			n = next;
+		}
+		return n;
+	}
+
+	private void learn(ParsePath path, int size) {
+		Node n = find(path);
+		if (n == null)
+			return;
+		float avg = n.avg;
+		if (avg < 0)
+			n.avg = size;
+		else
+			n.avg = avg + alpha * (size - avg);
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer() {
+		return new JSONObject();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer() {
+		return new JSONArray();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer(ParsePath path) {
+		float avg = getExpectedSize(path);
+		if (avg <= 0)
+			return new JSONObject();
+		// HashMap default load factor is 0.75
+		return new JSONObject((int) (avg / 0.75f) + 1);
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer(ParsePath path) {
+		float avg = getExpectedSize(path);
+		if (avg <= 0)
+			return new JSONArray();
+		return new JSONArray((int) avg + 1);
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishObjectContainer(ParsePath path, Map<String, Object> obj) {
+		learn(path, obj.size());
+		return obj;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishArrayContainer(ParsePath path, List<Object> list) {
+		learn(path, list.size());
+		if (trimToSize && list instanceof JSONArray)
+			((JSONArray) list).trimToSize();
+		return list;
+	}
+}
@@ -0,0 +1,216 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minidev.json.JSONUtil;
+
+/**
+ * Binding plan of one Java bean class, built once per class: how to create an
+ * instance, and for each JSON key the public Field or setter to use with its
+ * declared type.
+ *
+ * Bound properties are the ones written by the bean writer: declared fields
+ * from the class to its super classes, skipping static, transient and final
+ * ones. Public fields are set directly, other fields through their public
+ * setX() setter, fields without setter are skipped.
+ *
+ * Immutable classes without default constructor, like records, are built by
+ * a creator: a constructor, or else a static factory method, taking all the
+ * instance fields, see JSONUtil.getCreator for the matching rule. Values are
+ * then kept in a slot array until the creator is called. Binding an immutable
+ * class without creator, for instance having two fields of the same type,
+ * fails.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class BeanBinding {
+	private final static ConcurrentHashMap<Class<?>, BeanBinding> plans = new ConcurrentHashMap<Class<?>, BeanBinding>();
+
+	final Class<?> cls;
+	private final Constructor<?> ctor;
+	/**
+	 * constructor or static factory taking one parameter per slot, if ctor is
+	 * null
+	 */
+	private final Constructor<?> creator;
+	private final Method factory;
+	/**
+	 * number of creator parameters, 0 for setter binding
+	 */
+	final int nbSlots;
+	/**
+	 * default values of primitive slots
+	 */
+	private final Object[] defaults;
+	private final HashMap<String, Property> properties = new HashMap<String, Property>();
+
+	/**
+	 * one bound property
+	 */
+	static final class Property {
+		final Field field;
+		final Method setter;
+		final Type type;
+		final Class<?> rawType;
+		/**
+		 * creator parameter index, -1 for setter binding
+		 */
+		final int slot;
+
+		Property(Field field, Method setter, int slot) {
+			this.field = field;
+			this.setter = setter;
+			this.slot = slot;
+			if (field != null) {
+				this.type = field.getGenericType();
+				this.rawType = field.getType();
+			} else {
+				this.type = setter.getGenericParameterTypes()[0];
+				this.rawType = setter.getParameterTypes()[0];
+			}
+		}
+
+		void set(Object bean, Object value) throws Exception {
+			if (field != null)
+				field.set(bean, value);
+			else
+				setter.invoke(bean, value);
+		}
+	}
+
+	static BeanBinding get(Class<?> cls) {
+		BeanBinding plan = plans.get(cls);
+		if (plan == null) {
+			plan = new BeanBinding(cls);
+			BeanBinding prev = plans.putIfAbsent(cls, plan);
+			if (prev != null)
+				plan = prev;
+		}
+		return plan;
+	}
+
+	private BeanBinding(Class<?> cls) {
+		this.cls = cls;
+		Constructor<?> c0 = null;
+		if (!cls.isInterface() && !Modifier.isAbstract(cls.getModifiers())) {
+			try {
+				c0 = cls.getDeclaredConstructor();
+				c0.setAccessible(true);
+			} catch (Exception e) {
+				c0 = null;
+			}
+		}
+		this.ctor = c0;
+		Member member = c0 == null ? JSONUtil.getCreator(cls) : null;
+		if (member != null) {
+			Field[] fields = JSONUtil.getCreatorFields(cls);
+			if (member instanceof Constructor<?>) {
+				this.creator = (Constructor<?>) member;
+				this.creator.setAccessible(true);
+				this.factory = null;
+			} else {
+				this.creator = null;
+				this.factory = (Method) member;
+				this.factory.setAccessible(true);
+			}
+			this.nbSlots = fields.length;
+			this.defaults = new Object[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				properties.put(fields[i].getName(), new Property(fields[i], null, i));
+				if (fields[i].getType().isPrimitive())
+					defaults[i] = Array.get(Array.newInstance(fields[i].getType(), 1), 0);
+			}
+			return;
+		}
+		this.creator = null;
+		this.factory = null;
+		this.nbSlots = 0;
+		this.defaults = null;
+		for (Class<?> c = cls; c != Object.class && c != null; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				int m = field.getModifiers();
+				if ((m & (Modifier.STATIC | Modifier.TRANSIENT | Modifier.FINAL)) > 0)
+					continue;
+				String name = field.getName();
+				if (properties.containsKey(name))
+					continue;
+				if ((m & Modifier.PUBLIC) > 0) {
+					properties.put(name, new Property(field, null, -1));
+					continue;
+				}
+				Method setter = findSetter(c, JSONUtil.getSetterName(name), field.getType());
+				if (setter != null)
+					properties.put(name, new Property(null, setter, -1));
+			}
+		}
+	}
+
+	private static Method findSetter(Class<?> c, String name, Class<?> type) {
+		try {
+			Method m = c.getMethod(name, type);
+			if (m.getReturnType() == Void.TYPE || m.getReturnType() == c)
+				return m;
+		} catch (NoSuchMethodException e) {
+			// no setter
+		}
+		return null;
+	}
+
+	/**
+	 * @return the property bound to key, null if the key must be ignored
+	 */
+	Property getProperty(String key) {
+		return properties.get(key);
+	}
+
+	/**
+	 * @return a new slot array, primitive slots set to their default value
+	 */
+	Object[] newSlots() {
+		return defaults.clone();
+	}
+
+	/**
+	 * call the creator
+	 */
+	Object create(Object[] slots) throws Exception {
+		if (creator != null)
+			return creator.newInstance(slots);
+		return factory.invoke(null, slots);
+	}
+
+	Object newInstance() throws Exception {
+		if (ctor == null) {
+			if (JSONUtil.isImmutable(cls))
+				throw new IllegalArgumentException("no default constructor nor unambiguous creator in "
+						+ cls.getName());
+			throw new IllegalArgumentException("no default constructor in " + cls.getName());
+		}
+		return ctor.newInstance();
+	}
+}
@@ -0,0 +1,613 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+
+/**
+ * Container factory binding the parsed document to a Java type: beans are
+ * created and filled while their entries are parsed, values are converted to
+ * the declared types of fields, setters, Collection elements and Map values.
+ * No intermediate JSONObject is built for beans, entries without matching
+ * property are parsed but not stored.
+ *
+ * Bean classes having a JsonReaderI registered in JSONValue.defaultReader,
+ * like the ones generated for @JsonSmart classes, are filled by it instead of
+ * reflection.
+ *
+ * Untyped locations (Object, raw Map or List) get usual JSONObject and
+ * JSONArray. One instance per parse call.
+ *
+ * Binding errors throw an IllegalArgumentException, wrapped into a
+ * ParseException by {@link JSONParser}.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class BindingFactory implements PathContainerFactoryEx {
+	private final Type root;
+	/**
+	 * binding of each open container, null for ignored ones
+	 */
+	private Target[] stack = new Target[16];
+	private final FakeContainerFactory skip = new FakeContainerFactory();
+
+	BindingFactory(Type root) {
+		this.root = root;
+	}
+
+	/**
+	 * an open container being bound
+	 */
+	private interface Target {
+		/**
+		 * @return the type expected for the value at key, null to ignore it
+		 */
+		Type childType(String key);
+
+		/**
+		 * @return the bound value
+		 */
+		Object finish();
+	}
+
+	/**
+	 * @return type expected at path, null if the value is ignored
+	 */
+	private Type typeAt(ParsePath path) {
+		int depth = path.getDepth();
+		if (depth == 0)
+			return root;
+		Target parent = stack[depth - 1];
+		if (parent == null)
+			return null;
+		return parent.childType(path.getKey(depth));
+	}
+
+	/**
+	 * @return the component class if an int[], long[], double[] or float[] is
+	 *         expected at path, null otherwise
+	 */
+	Class<?> primitiveArrayAt(ParsePath path) {
+		Type type = typeAt(path);
+		if (!(type instanceof Class<?>))
+			return null;
+		Class<?> c = ((Class<?>) type).getComponentType();
+		if (c == Integer.TYPE || c == Long.TYPE || c == Double.TYPE || c == Float.TYPE)
+			return c;
+		return null;
+	}
+
+	private void push(ParsePath path, Target t) {
+		int depth = path.getDepth();
+		if (depth == stack.length) {
+			Target[] s2 = new Target[depth * 2];
+			System.arraycopy(stack, 0, s2, 0, depth);
+			stack = s2;
+		}
+		stack[depth] = t;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer() {
+		return new JSONObject();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer() {
+		return new JSONArray();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer(ParsePath path) {
+		Type type = typeAt(path);
+		if (type == null) {
+			push(path, null);
+			return skip.createObjectContainer();
+		}
+		Class<?> raw = rawClass(type);
+		Map<String, Object> obj;
+		if (raw == Object.class || Map.class.isAssignableFrom(raw))
+			obj = new MapTarget(newMap(raw), typeArgument(type, 0), typeArgument(type, 1));
+		else if (raw.isArray() || raw.isPrimitive() || raw.isEnum() || Collection.class.isAssignableFrom(raw)
+				|| raw.getName().startsWith("java."))
+			throw new IllegalArgumentException("can not bind an Object to " + type);
+		else {
+			JsonReaderI<?> reader = JSONValue.defaultReader.getReader(raw);
+			if (reader != null)
+				obj = new ReaderTarget(reader);
+			else
+				obj = new BeanTarget(BeanBinding.get(raw));
+		}
+		push(path, (Target) obj);
+		return obj;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer(ParsePath path) {
+		Type type = typeAt(path);
+		if (type == null) {
+			push(path, null);
+			return skip.createArrayContainer();
+		}
+		ListTarget list = new ListTarget(type);
+		push(path, list);
+		return list;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishObjectContainer(ParsePath path, Map<String, Object> obj) {
+		if (obj instanceof Target)
+			return ((Target) obj).finish();
+		return null;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishArrayContainer(ParsePath path, List<Object> list) {
+		if (list instanceof Target)
+			return ((Target) list).finish();
+		return null;
+	}
+
+	/**
+	 * bean filled while parsed, or slots given to the creator once parsed
+	 */
+	private static class BeanTarget extends AbstractMap<String, Object> implements Target {
+		private final BeanBinding binding;
+		private final Object bean;
+		private final Object[] slots;
+
+		BeanTarget(BeanBinding binding) {
+			this.binding = binding;
+			if (binding.nbSlots > 0) {
+				this.bean = null;
+				this.slots = binding.newSlots();
+				return;
+			}
+			this.slots = null;
+			try {
+				this.bean = binding.newInstance();
+			} catch (InvocationTargetException e) {
+				throw new IllegalArgumentException("can not create " + binding.cls.getName(), e.getCause());
+			} catch (IllegalArgumentException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalArgumentException("can not create " + binding.cls.getName(), e);
+			}
+		}
+
+		public Object put(String key, Object value) {
+			BeanBinding.Property p = binding.getProperty(key);
+			if (p == null)
+				return null;
+			if (value == null && p.rawType.isPrimitive())
+				return null;
+			if (slots != null) {
+				slots[p.slot] = convert(value, p.type);
+				return null;
+			}
+			try {
+				p.set(bean, convert(value, p.type));
+			} catch (InvocationTargetException e) {
+				throw new IllegalArgumentException("can not set " + key, e.getCause());
+			} catch (IllegalArgumentException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalArgumentException("can not set " + key, e);
+			}
+			return null;
+		}
+
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return null;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Type childType(String key) {
+			BeanBinding.Property p = binding.getProperty(key);
+			return p == null ? null : p.type;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Object finish() {
+			if (slots == null)
+				return bean;
+			try {
+				return binding.create(slots);
+			} catch (InvocationTargetException e) {
+				throw new IllegalArgumentException("can not create " + binding.cls.getName(), e.getCause());
+			} catch (Exception e) {
+				throw new IllegalArgumentException("can not create " + binding.cls.getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * bean filled by a registered JsonReaderI
+	 */
+	private static class ReaderTarget extends AbstractMap<String, Object> implements Target {
+		private final JsonReaderI<Object> reader;
+		private final Object bean;
+
+		@SuppressWarnings("unchecked")
+		ReaderTarget(JsonReaderI<?> reader) {
+			this.reader = (JsonReaderI<Object>) reader;
+			this.bean = this.reader.newInstance();
+		}
+
+		public Object put(String key, Object value) {
+			Type type = reader.getType(key);
+			if (type == null)
+				return null;
+			if (value == null && type instanceof Class<?> && ((Class<?>) type).isPrimitive())
+				return null;
+			Object v = convert(value, type);
+			try {
+				reader.set(bean, key, v);
+			} catch (IllegalArgumentException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("can not set " + key, e);
+			}
+			return null;
+		}
+
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return null;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Type childType(String key) {
+			return reader.getType(key);
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Object finish() {
+			return bean;
+		}
+	}
+
+	/**
+	 * Map converting its keys and values
+	 */
+	private static class MapTarget extends AbstractMap<String, Object> implements Target {
+		private final Map<Object, Object> map;
+		private final Type keyType;
+		private final Type valueType;
+
+		MapTarget(Map<Object, Object> map, Type keyType, Type valueType) {
+			this.map = map;
+			this.keyType = keyType;
+			this.valueType = valueType;
+		}
+
+		public Object put(String key, Object value) {
+			return map.put(convert(key, keyType), convert(value, valueType));
+		}
+
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return null;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Type childType(String key) {
+			return valueType;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Object finish() {
+			return map;
+		}
+	}
+
+	/**
+	 * elements converted to the element type, stored in the final Collection,
+	 * in a growing primitive array or in a temporary list for other arrays
+	 */
+	private static class ListTarget extends AbstractList<Object> implements Target {
+		private final Type type;
+		private final Type elementType;
+		private final Collection<Object> items;
+		/**
+		 * buffer for primitive arrays
+		 */
+		private Object primitives;
+		private int size;
+
+		@SuppressWarnings("unchecked")
+		ListTarget(Type type) {
+			this.type = type;
+			Class<?> raw = rawClass(type);
+			if (raw.isArray()) {
+				if (type instanceof GenericArrayType)
+					elementType = ((GenericArrayType) type).getGenericComponentType();
+				else
+					elementType = raw.getComponentType();
+				if (raw.getComponentType().isPrimitive()) {
+					items = null;
+					primitives = Array.newInstance(raw.getComponentType(), 16);
+				} else
+					items = new ArrayList<Object>();
+			} else if (raw == Object.class || Collection.class.isAssignableFrom(raw)
+					|| raw == Iterable.class) {
+				elementType = typeArgument(type, 0);
+				items = (Collection<Object>) newCollection(raw);
+			} else
+				throw new IllegalArgumentException("can not bind an Array to " + type);
+		}
+
+		public boolean add(Object value) {
+			if (items != null)
+				return items.add(convert(value, elementType));
+			if (size == Array.getLength(primitives)) {
+				Object p2 = Array.newInstance(rawClass(elementType), size * 2);
+				System.arraycopy(primitives, 0, p2, 0, size);
+				primitives = p2;
+			}
+			// null entries are left to 0
+			if (value != null)
+				Array.set(primitives, size, convert(value, elementType));
+			size++;
+			return true;
+		}
+
+		public Object get(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		public int size() {
+			return items == null ? size : items.size();
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Type childType(String key) {
+			return elementType;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Object finish() {
+			if (primitives != null) {
+				if (Array.getLength(primitives) == size)
+					return primitives;
+				Object array = Array.newInstance(rawClass(elementType), size);
+				System.arraycopy(primitives, 0, array, 0, size);
+				return array;
+			}
+			Class<?> raw = rawClass(type);
+			if (!raw.isArray())
+				return items;
+			Object array = Array.newInstance(raw.getComponentType(), items.size());
+			int i = 0;
+			for (Object o : items)
+				Array.set(array, i++, o);
+			return array;
+		}
+	}
+
+	/**
+	 * @return the class of a Type, the bound of type variables and wildcards
+	 */
+	static Class<?> rawClass(Type type) {
+		if (type instanceof Class<?>)
+			return (Class<?>) type;
+		if (type instanceof ParameterizedType)
+			return rawClass(((ParameterizedType) type).getRawType());
+		if (type instanceof GenericArrayType)
+			return Array.newInstance(rawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		if (type instanceof TypeVariable<?>)
+			return rawClass(((TypeVariable<?>) type).getBounds()[0]);
+		if (type instanceof WildcardType)
+			return rawClass(((WildcardType) type).getUpperBounds()[0]);
+		return Object.class;
+	}
+
+	/**
+	 * @return the type parameter at index, Object if type is not
+	 *         parameterized
+	 */
+	private static Type typeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType) {
+			Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+			if (index < args.length)
+				return args[index];
+		}
+		return Object.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<Object, Object> newMap(Class<?> raw) {
+		if (raw.isAssignableFrom(JSONObject.class))
+			return (Map<Object, Object>) (Map<?, ?>) new JSONObject();
+		if (raw.isAssignableFrom(TreeMap.class))
+			return new TreeMap<Object, Object>();
+		return (Map<Object, Object>) newInstance(raw);
+	}
+
+	private static Collection<?> newCollection(Class<?> raw) {
+		if (raw.isAssignableFrom(JSONArray.class))
+			return new JSONArray();
+		if (raw.isAssignableFrom(LinkedHashSet.class))
+			return new LinkedHashSet<Object>();
+		if (raw.isAssignableFrom(TreeSet.class))
+			return new TreeSet<Object>();
+		return (Collection<?>) newInstance(raw);
+	}
+
+	private static Object newInstance(Class<?> raw) {
+		if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers()))
+			throw new IllegalArgumentException("can not instantiate " + raw.getName());
+		try {
+			return raw.newInstance();
+		} catch (Exception e) {
+			throw new IllegalArgumentException("can not instantiate " + raw.getName(), e);
+		}
+	}
+
+	/**
+	 * convert a parsed value to type
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static Object convert(Object value, Type type) {
+		if (value == null)
+			return null;
+		Class<?> c = rawClass(type);
+		if (c.isPrimitive())
+			c = wrapper(c);
+		if (c.isInstance(value))
+			return value;
+		if (value instanceof Number) {
+			Number n = (Number) value;
+			if (c == Integer.class)
+				return (int) exactLong(n, Integer.MIN_VALUE, Integer.MAX_VALUE, type);
+			if (c == Long.class)
+				return exactLong(n, Long.MIN_VALUE, Long.MAX_VALUE, type);
+			if (c == Double.class)
+				return n.doubleValue();
+			if (c == Float.class)
+				return n.floatValue();
+			if (c == Short.class)
+				return (short) exactLong(n, Short.MIN_VALUE, Short.MAX_VALUE, type);
+			if (c == Byte.class)
+				return (byte) exactLong(n, Byte.MIN_VALUE, Byte.MAX_VALUE, type);
+			if (c == BigDecimal.class)
+				return new BigDecimal(n.toString());
+			if (c == BigInteger.class)
+				return exact(n, type).toBigIntegerExact();
+			if (c == String.class)
+				return n.toString();
+		} else if (value instanceof String) {
+			String s = (String) value;
+			try {
+				if (c == Integer.class)
+					return Integer.valueOf(s);
+				if (c == Long.class)
+					return Long.valueOf(s);
+				if (c == Double.class)
+					return Double.valueOf(s);
+				if (c == Float.class)
+					return Float.valueOf(s);
+				if (c == Short.class)
+					return Short.valueOf(s);
+				if (c == Byte.class)
+					return Byte.valueOf(s);
+				if (c == BigDecimal.class)
+					return new BigDecimal(s);
+				if (c == BigInteger.class)
+					return new BigInteger(s);
+				if (c == Boolean.class) {
+					if (s.equals("true"))
+						return Boolean.TRUE;
+					if (s.equals("false"))
+						return Boolean.FALSE;
+					throw new IllegalArgumentException("not a boolean");
+				}
+				if (c == Character.class && s.length() == 1)
+					return s.charAt(0);
+				if (c.isEnum())
+					return Enum.valueOf((Class) c, s);
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("can not bind \"" + s + "\" to " + type, e);
+			}
+		} else if (value instanceof Boolean) {
+			if (c == String.class)
+				return value.toString();
+		}
+		throw new IllegalArgumentException("can not bind " + value.getClass().getName() + " to " + type);
+	}
+
+	/**
+	 * @return n as a long, if it is an integer in [min, max]
+	 */
+	private static long exactLong(Number n, long min, long max, Type type) {
+		long v;
+		if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte)
+			v = n.longValue();
+		else {
+			try {
+				v = exact(n, type).longValueExact();
+			} catch (ArithmeticException e) {
+				throw new IllegalArgumentException("can not bind " + n + " to " + type, e);
+			}
+		}
+		if (v < min || v > max)
+			throw new IllegalArgumentException("can not bind " + n + " to " + type);
+		return v;
+	}
+
+	/**
+	 * @return n as a BigDecimal, without fractional part
+	 */
+	private static BigDecimal exact(Number n, Type type) {
+		BigDecimal d;
+		try {
+			if (n instanceof BigDecimal)
+				d = (BigDecimal) n;
+			else if (n instanceof BigInteger)
+				d = new BigDecimal((BigInteger) n);
+			else
+				d = new BigDecimal(n.toString());
+			if (d.signum() == 0 || d.stripTrailingZeros().scale() <= 0)
+				return d;
+		} catch (NumberFormatException e) {
+			// NaN or Infinity
+		}
+		throw new IllegalArgumentException("can not bind " + n + " to " + type);
+	}
+
+	private static Class<?> wrapper(Class<?> c) {
+		if (c == Integer.TYPE)
+			return Integer.class;
+		if (c == Long.TYPE)
+			return Long.class;
+		if (c == Double.TYPE)
+			return Double.class;
+		if (c == Float.TYPE)
+			return Float.class;
+		if (c == Boolean.TYPE)
+			return Boolean.class;
+		if (c == Short.TYPE)
+			return Short.class;
+		if (c == Byte.TYPE)
+			return Byte.class;
+		if (c == Character.TYPE)
+			return Character.class;
+		return c;
+	}
+}
@@ -15,12 +15,14 @@ package net.minidev.json.parser;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
+import net.minidev.json.JSONOrderedObject;
+import net.minidev.json.JSONTrackedArray;
+import net.minidev.json.JSONTrackedObject;
 
 /**
  * Container factory for creating containers for JSON object and JSON array.
@@ -54,11 +56,14 @@ public interface ContainerFactory {
 		}
 	};
 
+	/**
+	 * Factory keeping Object keys order
+	 */
 	public final static ContainerFactory FACTORY_ORDERED = new ContainerFactory() {
 
 		// @Override JDK 1.5 compatibility change
 		public Map<String, Object> createObjectContainer() {
-			return new LinkedHashMap<String, Object>();
+			return new JSONOrderedObject();
 		}
 
 		// @Override JDK 1.5 compatibility change
@@ -67,4 +72,22 @@ public interface ContainerFactory {
 		}
 	};
 
+	/**
+	 * Factory building containers caching their serialized form
+	 * 
+	 * @since 1.3.2
+	 */
+	public final static ContainerFactory FACTORY_TRACKED = new ContainerFactory() {
+
+		// @Override JDK 1.5 compatibility change
+		public Map<String, Object> createObjectContainer() {
+			return new JSONTrackedObject();
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public List<Object> createArrayContainer() {
+			return new JSONTrackedArray();
+		}
+	};
+
 }
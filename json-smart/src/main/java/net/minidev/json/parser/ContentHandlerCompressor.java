@@ -83,15 +83,7 @@ public class ContentHandlerCompressor implements ContentHandler {
 	public boolean startObjectEntry(String key) throws ParseException, IOException {
 		if (stack[pos + 1]++ > 0)
 			out.append(',');
-		if (key == null)
-			out.append("null");
-		else if (!compression.mustProtectKey(key))
-			out.append(key);
-		else {
-			out.append('"');
-			JSONValue.escape(key, out, compression);
-			out.append('"');
-		}
+		compression.writeKey(out, key);
 		out.append(':');
 		return false;
 	}
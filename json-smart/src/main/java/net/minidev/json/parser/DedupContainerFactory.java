@@ -0,0 +1,118 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.List;
+import java.util.Map;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONFrozenArray;
+import net.minidev.json.JSONFrozenObject;
+import net.minidev.json.JSONObject;
+
+/**
+ * Container factory sharing identical sub-trees. Each completed Object and
+ * Array is frozen, and looked up in a bounded table of previously seen
+ * containers; an equal container found in the table replaces it in the
+ * document.
+ *
+ * Sub-trees are completed children first, so children of a container are
+ * already shared when the container is looked up, and hash and equality
+ * checks stay shallow.
+ *
+ * Parse results are deeply frozen ({@link JSONFrozenObject} and
+ * {@link JSONFrozenArray}), and may share instances with documents parsed
+ * using the same factory. Instances can be used by concurrent parses.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class DedupContainerFactory implements PathContainerFactoryEx {
+	private final Object[] table;
+	private final int mask;
+
+	public DedupContainerFactory() {
+		this(4096);
+	}
+
+	/**
+	 * @param size
+	 *            number of slots, rounded up to a power of 2. On collision the
+	 *            last container replaces the previous one.
+	 */
+	public DedupContainerFactory(int size) {
+		int cap = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+		this.table = new Object[cap];
+		this.mask = cap - 1;
+	}
+
+	/**
+	 * drop all shared containers
+	 */
+	public void clear() {
+		for (int i = 0; i < table.length; i++)
+			table[i] = null;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer() {
+		return new JSONObject();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer() {
+		return new JSONArray();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer(ParsePath path) {
+		return new JSONObject();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer(ParsePath path) {
+		return new JSONArray();
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishObjectContainer(ParsePath path, Map<String, Object> obj) {
+		// Map hashCode and equals contracts are shared by JSONObject and
+		// JSONFrozenObject, lookup before building the frozen copy
+		int p = slot(obj.hashCode());
+		Object cur = table[p];
+		if (cur instanceof JSONFrozenObject && cur.equals(obj))
+			return cur;
+		JSONFrozenObject frozen = JSONFrozenObject.freeze(obj);
+		table[p] = frozen;
+		return frozen;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Object finishArrayContainer(ParsePath path, List<Object> list) {
+		int p = slot(list.hashCode());
+		Object cur = table[p];
+		if (cur instanceof JSONFrozenArray && cur.equals(list))
+			return cur;
+		JSONFrozenArray frozen = JSONFrozenArray.freeze(list);
+		table[p] = frozen;
+		return frozen;
+	}
+
+	private int slot(int h) {
+		return (h ^ (h >>> 16)) & mask;
+	}
+}
@@ -110,6 +110,16 @@ public class JSONParser {
 	public static int DEFAULT_PERMISSIVE_MODE = (System.getProperty("JSON_SMART_SIMPLE") != null) ? MODE_JSON_SIMPLE
 			: MODE_PERMISSIVE;
 
+	/**
+	 * @return true for the control chars rejected in escaped Strings, or
+	 *         skipped in IGNORE_CONTROL_CHAR mode. SUB (26) is not one of
+	 *         them, it is the end of input marker.
+	 * @since 1.3.2
+	 */
+	public static boolean isControlChar(char c) {
+		return (c <= 31 && c != JSONParserBase.EOI) || c == 127;
+	}
+
 	/*
 	 * internal fields
 	 */
@@ -118,6 +128,11 @@ public class JSONParser {
 	private JSONParserInputStream pSBintream;
 	private JSONParserString pString;
 	private JSONParserByteArray pBytes;
+	/*
+	 * optional features
+	 */
+	private boolean lazyString;
+	private StringCache stringCache;
 
 	/**
 	 * @deprecated prefer usage of new JSONParser(JSONParser.MODE_*)
@@ -130,14 +145,87 @@ public class JSONParser {
 		this.mode = permissifMode;
 	}
 
+	/**
+	 * Return String values as {@link net.minidev.json.JSONLazyString} decoded
+	 * on demand instead of String. Only apply to String inputs, Object keys
+	 * are always returned as String.
+	 * 
+	 * @since 1.3.2
+	 */
+	public void setLazyString(boolean lazyString) {
+		this.lazyString = lazyString;
+		configureAll();
+	}
+
+	/**
+	 * Enable a bounded String cache returning the same String instance for
+	 * repeated quoted values and keys, reducing allocation and retained memory
+	 * for low-cardinality values (status, codes, enum names...). The cache is
+	 * kept between parse calls of this JSONParser.
+	 * 
+	 * @param size
+	 *            number of cached Strings, 0 to disable the cache
+	 * @param maxLength
+	 *            longer Strings are never cached
+	 * 
+	 * @since 1.3.2
+	 */
+	public void setStringCache(int size, int maxLength) {
+		if (size <= 0)
+			this.stringCache = null;
+		else
+			this.stringCache = new StringCache(size, maxLength);
+		configureAll();
+	}
+
+	/**
+	 * apply optional features to already created parsers
+	 */
+	private void configureAll() {
+		configure(pString);
+		configure(pBytes);
+		configure(pStream);
+		configure(pSBintream);
+	}
+
+	private <P extends JSONParserBase> P configure(P p) {
+		if (p == null)
+			return null;
+		p.useLazyString = lazyString;
+		p.stringCache = stringCache;
+		return p;
+	}
+
+	private JSONParserString getPString() {
+		if (pString == null)
+			pString = configure(new JSONParserString(mode));
+		return pString;
+	}
+
+	private JSONParserByteArray getPBytes() {
+		if (pBytes == null)
+			pBytes = configure(new JSONParserByteArray(mode));
+		return pBytes;
+	}
+
+	private JSONParserReader getPStream() {
+		if (pStream == null)
+			pStream = configure(new JSONParserReader(mode));
+		return pStream;
+	}
+
+	private JSONParserInputStream getPBinStream() {
+		if (pSBintream == null)
+			pSBintream = configure(new JSONParserInputStream(mode));
+		return pSBintream;
+	}
+
 	/**
 	 * use to return Primitive Type, or String, Or JsonObject or JsonArray
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(String in) throws ParseException {
-		if (pString == null)
-			pString = new JSONParserString(mode);
-		return pString.parse(in);
+		return getPString().parse(in);
 	}
 
 	/**
@@ -145,15 +233,11 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(String in, ContainerFactory containerFactory) throws ParseException {
-		if (pString == null)
-			pString = new JSONParserString(mode);
-		return pString.parse(in, containerFactory);
+		return getPString().parse(in, containerFactory);
 	}
 
 	public Object parse(String in, ContainerFactory containerFactory, ContentHandler handler) throws ParseException {
-		if (pString == null)
-			pString = new JSONParserString(mode);
-		return pString.parse(in, containerFactory, handler);
+		return getPString().parse(in, containerFactory, handler);
 	}
 
 	/**
@@ -161,9 +245,7 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(byte[] in) throws ParseException {
-		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
-		return pBytes.parse(in);
+		return getPBytes().parse(in);
 	}
 
 	/**
@@ -171,34 +253,24 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(byte[] in, ContainerFactory containerFactory) throws ParseException {
-		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
-		return pBytes.parse(in, containerFactory);
+		return getPBytes().parse(in, containerFactory);
 	}
 
 	public Object parse(byte[] in, ContainerFactory containerFactory, ContentHandler handler) throws ParseException {
-		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
-		return pBytes.parse(in, containerFactory, handler);
+		return getPBytes().parse(in, containerFactory, handler);
 	}
 
 	public Object parse(byte[] in, int offset, int length) throws ParseException {
-		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
-		return pBytes.parse(in, offset, length, ContainerFactory.FACTORY_SIMPLE, ContentHandlerDumy.HANDLER);
+		return getPBytes().parse(in, offset, length, ContainerFactory.FACTORY_SIMPLE, ContentHandlerDumy.HANDLER);
 	}
 
 	public Object parse(byte[] in, int offset, int length, ContainerFactory containerFactory) throws ParseException {
-		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
-		return pBytes.parse(in, offset, length, containerFactory, ContentHandlerDumy.HANDLER);
+		return getPBytes().parse(in, offset, length, containerFactory, ContentHandlerDumy.HANDLER);
 	}
 	
 	public Object parse(byte[] in, int offset, int length, ContainerFactory containerFactory, ContentHandler handler)
 			throws ParseException {
-		if (pBytes == null)
-			pBytes = new JSONParserByteArray(mode);
-		return pBytes.parse(in, offset, length, containerFactory, handler);
+		return getPBytes().parse(in, offset, length, containerFactory, handler);
 	}
 
 	/**
@@ -206,9 +278,7 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(Reader in) throws ParseException {
-		if (pStream == null)
-			pStream = new JSONParserReader(mode);
-		return pStream.parse(in);
+		return getPStream().parse(in);
 	}
 
 	/**
@@ -216,9 +286,7 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(Reader in, ContainerFactory containerFactory) throws ParseException {
-		if (pStream == null)
-			pStream = new JSONParserReader(mode);
-		return pStream.parse(in, containerFactory);
+		return getPStream().parse(in, containerFactory);
 	}
 
 	/**
@@ -226,9 +294,7 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(Reader in, ContainerFactory containerFactory, ContentHandler handler) throws ParseException {
-		if (pStream == null)
-			pStream = new JSONParserReader(mode);
-		return pStream.parse(in, containerFactory, handler);
+		return getPStream().parse(in, containerFactory, handler);
 	}
 
 	/**
@@ -236,9 +302,7 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(InputStream in) throws ParseException {
-		if (pSBintream == null)
-			pSBintream = new JSONParserInputStream(mode);
-		return pSBintream.parse(in);
+		return getPBinStream().parse(in);
 	}
 
 	/**
@@ -246,9 +310,7 @@ public class JSONParser {
 	 * generated by a ContainerFactory
 	 */
 	public Object parse(InputStream in, ContainerFactory containerFactory) throws ParseException {
-		if (pSBintream == null)
-			pSBintream = new JSONParserInputStream(mode);
-		return pSBintream.parse(in, containerFactory);
+		return getPBinStream().parse(in, containerFactory);
 	}
 
 	/**
@@ -257,9 +319,70 @@ public class JSONParser {
 	 */
 	public Object parse(InputStream in, ContainerFactory containerFactory, ContentHandler handler)
 			throws ParseException {
-		if (pSBintream == null)
-			pSBintream = new JSONParserInputStream(mode);
-		return pSBintream.parse(in, containerFactory, handler);
+		return getPBinStream().parse(in, containerFactory, handler);
 	}
 
+	/**
+	 * Parse the input directly into an instance of type: beans are filled
+	 * through their public fields and setters, values are converted to the
+	 * declared types, unknown keys are ignored. Binding errors are reported as
+	 * ParseException.
+	 * 
+	 * @since 1.3.2
+	 */
+	public <T> T parse(String in, Class<T> type) throws ParseException {
+		JSONParserString p = getPString();
+		try {
+			return bind(p.parse(in, new BindingFactory(type)), type);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException(p.pos, e);
+		}
+	}
+
+	/**
+	 * @see #parse(String, Class)
+	 * @since 1.3.2
+	 */
+	public <T> T parse(byte[] in, Class<T> type) throws ParseException {
+		JSONParserByteArray p = getPBytes();
+		try {
+			return bind(p.parse(in, new BindingFactory(type)), type);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException(p.pos, e);
+		}
+	}
+
+	/**
+	 * @see #parse(String, Class)
+	 * @since 1.3.2
+	 */
+	public <T> T parse(Reader in, Class<T> type) throws ParseException {
+		JSONParserReader p = getPStream();
+		try {
+			return bind(p.parse(in, new BindingFactory(type)), type);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException(p.pos, e);
+		}
+	}
+
+	/**
+	 * @see #parse(String, Class)
+	 * @since 1.3.2
+	 */
+	public <T> T parse(InputStream in, Class<T> type) throws ParseException {
+		JSONParserInputStream p = getPBinStream();
+		try {
+			return bind(p.parse(in, new BindingFactory(type)), type);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException(p.pos, e);
+		}
+	}
+
+	/**
+	 * convert a root primitive value
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T bind(Object value, Class<T> type) {
+		return (T) BindingFactory.convert(value, type);
+	}
 }
@@ -62,6 +62,23 @@ abstract class JSONParserBase {
 	 * End of static declaration
 	 */
 	protected ContainerFactory containerFactory;
+	/**
+	 * set when containerFactory is a PathContainerFactory
+	 */
+	protected PathContainerFactory pathFactory;
+	/**
+	 * set when containerFactory is a PathContainerFactoryEx
+	 */
+	protected PathContainerFactoryEx finishFactory;
+	/**
+	 * set when containerFactory is a SourceContainerFactory
+	 */
+	protected SourceContainerFactory sourceFactory;
+	/**
+	 * set when binding to Java types
+	 */
+	protected BindingFactory bindingFactory;
+	protected final ParsePath path = new ParsePath();
 	protected ContentHandler handler;
 	protected final MSB sb = new MSB(15);
 	protected Object xo;
@@ -81,6 +98,11 @@ abstract class JSONParserBase {
 	protected final boolean ignoreControlChar;
 	protected final boolean useHiPrecisionFloat;
 	protected final boolean useIntegerStorage;
+	/*
+	 * Optional features, not part of the permissive mode
+	 */
+	protected boolean useLazyString;
+	protected StringCache stringCache;
 
 	public JSONParserBase(int permissiveMode) {
 		this.acceptNaN = (permissiveMode & JSONParser.ACCEPT_NAN) > 0;
@@ -147,6 +169,23 @@ abstract class JSONParserBase {
 	 */
 	protected Object parse(ContainerFactory containerFactory, ContentHandler handler) throws ParseException {
 		this.containerFactory = containerFactory;
+		if (containerFactory instanceof PathContainerFactory) {
+			this.pathFactory = (PathContainerFactory) containerFactory;
+			path.clear();
+		} else
+			this.pathFactory = null;
+		if (containerFactory instanceof PathContainerFactoryEx)
+			this.finishFactory = (PathContainerFactoryEx) containerFactory;
+		else
+			this.finishFactory = null;
+		if (containerFactory instanceof SourceContainerFactory)
+			this.sourceFactory = (SourceContainerFactory) containerFactory;
+		else
+			this.sourceFactory = null;
+		if (containerFactory instanceof BindingFactory)
+			this.bindingFactory = (BindingFactory) containerFactory;
+		else
+			this.bindingFactory = null;
 		this.handler = handler;
 //		this.pos = -1;
 		Object result;
@@ -240,11 +279,16 @@ abstract class JSONParserBase {
 	abstract protected void read() throws IOException;
 
 	protected List<Object> readArray() throws ParseException, IOException {
-		List<Object> obj = containerFactory.createArrayContainer();
+		List<Object> obj;
+		if (pathFactory == null)
+			obj = containerFactory.createArrayContainer();
+		else
+			obj = pathFactory.createArrayContainer(path);
 		if (c != '[')
 			throw new RuntimeException("Internal Error");
 		read();
 		boolean needData = false;
+		int index = 0;
 		handler.startArray();
 		for (;;) {
 			switch (c) {
@@ -272,7 +316,13 @@ abstract class JSONParserBase {
 			case EOI:
 				throw new ParseException(pos - 1, ERROR_UNEXPECTED_EOF, "EOF");
 			default:
-				obj.add(readMain(stopArray));
+				if (pathFactory == null)
+					obj.add(readMain(stopArray));
+				else {
+					path.push(index++);
+					obj.add(readMain(stopArray));
+					path.pop();
+				}
 				needData = false;
 				continue;
 			}
@@ -308,13 +358,40 @@ abstract class JSONParserBase {
 				throw new ParseException(pos, ERROR_UNEXPECTED_CHAR, c);
 				// start object
 			case '{':
-				return readObject();
+				if (sourceFactory != null) {
+					int start = pos;
+					Map<String, Object> obj = readObject();
+					return sourceFactory.finishObjectContainer(obj, start, pos);
+				}
+				if (finishFactory == null)
+					return readObject();
+				return finishFactory.finishObjectContainer(path, readObject());
 				// start Array
 			case '[':
-				return readArray();
+				if (sourceFactory != null) {
+					int start = pos;
+					List<Object> list = readArray();
+					return sourceFactory.finishArrayContainer(list, start, pos);
+				}
+				if (bindingFactory != null) {
+					Class<?> component = bindingFactory.primitiveArrayAt(path);
+					if (component != null) {
+						Object array = readPrimitiveArray(component);
+						if (array != null)
+							return array;
+					}
+				}
+				if (finishFactory == null)
+					return readArray();
+				return finishFactory.finishArrayContainer(path, readArray());
 				// start string
 			case '"':
 			case '\'':
+				if (useLazyString) {
+					xo = readLazyString();
+					handler.primitive(xo);
+					return xo;
+				}
 				readString();
 				handler.primitive(xs);
 				return xs;
@@ -391,12 +468,28 @@ abstract class JSONParserBase {
 
 	abstract protected void readNoEnd() throws ParseException, IOException;
 
+	/**
+	 * read the number Array starting at the current '[' directly into a
+	 * primitive array, used by in memory parsers.
+	 * 
+	 * @param component
+	 *            int, long, double or float class
+	 * @return the array, or null if the Array must be parsed as usual
+	 */
+	protected Object readPrimitiveArray(Class<?> component) throws IOException {
+		return null;
+	}
+
 	abstract protected void readNQString(boolean[] stop) throws IOException;
 
 	abstract protected Object readNumber(boolean[] stop) throws ParseException, IOException;
 
 	protected Map<String, Object> readObject() throws ParseException, IOException {
-		Map<String, Object> obj = this.containerFactory.createObjectContainer();
+		Map<String, Object> obj;
+		if (pathFactory == null)
+			obj = this.containerFactory.createObjectContainer();
+		else
+			obj = pathFactory.createObjectContainer(path);
 		if (c != '{')
 			throw new RuntimeException("Internal Error");
 		handler.startObject();
@@ -451,7 +544,15 @@ abstract class JSONParserBase {
 					throw new ParseException(pos - 1, ERROR_UNEXPECTED_CHAR, c);
 				}
 				readNoEnd(); /* skip : */
-				Object duplicate = obj.put(key, readMain(stopValue));
+				Object value;
+				if (pathFactory == null)
+					value = readMain(stopValue);
+				else {
+					path.push(key);
+					value = readMain(stopValue);
+					path.pop();
+				}
+				Object duplicate = obj.put(key, value);
 				if (duplicate != null)
 					throw new ParseException(keyStart, ERROR_UNEXPECTED_DUPLICATE_KEY, key);
 				handler.endObjectEntry();
@@ -485,6 +586,17 @@ abstract class JSONParserBase {
 
 	abstract protected void readString() throws ParseException, IOException;
 
+	/**
+	 * read a String value without decoding it, default implementation decode
+	 * it.
+	 * 
+	 * @return a String or a JSONLazyString
+	 */
+	protected Object readLazyString() throws ParseException, IOException {
+		readString();
+		return xs;
+	}
+
 	protected void readString2() throws ParseException, IOException {
 		/* assert (c == '\"' || c == '\'') */
 		char sep = c;
@@ -497,7 +609,10 @@ abstract class JSONParserBase {
 			case '\'':
 				if (sep == c) {
 					read();
-					xs = sb.toString();
+					if (stringCache == null)
+						xs = sb.toString();
+					else
+						xs = stringCache.get(sb.b, 0, sb.p + 1);
 					return;
 				}
 				sb.append(c);
@@ -583,6 +698,29 @@ abstract class JSONParserBase {
 		}
 	}
 
+	/**
+	 * same checks as readString2() without storing the value
+	 */
+	protected void skipString2() throws ParseException, IOException {
+		/* assert (c == '\"' || c == '\'') */
+		char sep = c;
+		for (;;) {
+			read();
+			if (c == EOI)
+				throw new ParseException(pos - 1, ERROR_UNEXPECTED_EOF, null);
+			if (c == sep)
+				return;
+			if (c == '\\') {
+				read();
+				if (c == 'u')
+					readUnicode(4);
+				else if (c == 'x')
+					readUnicode(2);
+			} else if (JSONParser.isControlChar(c) && !ignoreControlChar)
+				throw new ParseException(pos, ERROR_UNEXPECTED_CHAR, c);
+		}
+	}
+
 	protected char readUnicode(int totalChars) throws ParseException, IOException {
 		int value = 0;
 		for (int i = 0; i < totalChars; i++) {
@@ -75,6 +75,19 @@ class JSONParserByteArray extends JSONParserMemory {
 		xs = new String(in, beginIndex, endIndex - beginIndex);
 	}
 
+	protected void extractCachedString(int beginIndex, int endIndex) {
+		xs = stringCache.get(in, beginIndex, endIndex);
+	}
+
+	protected boolean isPlainString(int start, int stop) {
+		for (int i = start; i < stop; i++) {
+			byte b = in[i];
+			if (b == '\\' || (!ignoreControlChar && b >= 0 && (b <= 31 || b == 127)))
+				return false;
+		}
+		return true;
+	}
+
 	protected int indexOf(char c, int pos) {
 		for (int i = pos; pos < len; i++)
 			if (in[i] == (byte) c)
@@ -82,6 +95,16 @@ class JSONParserByteArray extends JSONParserMemory {
 		return -1;
 	}
 
+	protected Object readPrimitiveArray(Class<?> component) {
+		NumberArrayReader r = new NumberArrayReader(in, len);
+		Object array = r.read(pos, component);
+		if (array != null) {
+			pos = r.pos - 1;
+			read();
+		}
+		return array;
+	}
+
 	protected void read() {
 		if (++pos >= len)
 			this.c = EOI;
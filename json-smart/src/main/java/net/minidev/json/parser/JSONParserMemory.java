@@ -120,6 +120,13 @@ abstract class JSONParserMemory extends JSONParserBase {
 		int tmpP = indexOf(c, pos + 1);
 		if (tmpP == -1)
 			throw new ParseException(len, ERROR_UNEXPECTED_EOF, null);
+		if (stringCache != null && isPlainString(pos + 1, tmpP)) {
+			// only valid Strings used as is are cached
+			extractCachedString(pos + 1, tmpP);
+			pos = tmpP;
+			read();
+			return;
+		}
 		extractString(pos + 1, tmpP);
 		if (xs.indexOf('\\') == -1) {
 			checkControleChar();
@@ -134,6 +141,17 @@ abstract class JSONParserMemory extends JSONParserBase {
 
 	abstract protected void extractString(int start, int stop);
 
+	/**
+	 * same as extractString() using stringCache
+	 */
+	abstract protected void extractCachedString(int start, int stop);
+
+	/**
+	 * @return true if the range has no escape and no control char rejected by
+	 *         checkControleChar(), so it is the String value as is
+	 */
+	abstract protected boolean isPlainString(int start, int stop);
+
 	abstract protected int indexOf(char c, int pos);
 
 	protected void extractStringTrim(int start, int stop) {
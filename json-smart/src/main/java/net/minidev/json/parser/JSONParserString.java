@@ -15,8 +15,13 @@ package net.minidev.json.parser;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+import static net.minidev.json.parser.ParseException.ERROR_UNEXPECTED_CHAR;
 import static net.minidev.json.parser.ParseException.ERROR_UNEXPECTED_EOF;
 
+import java.io.IOException;
+
+import net.minidev.json.JSONLazyString;
+
 /**
  * Parser for JSON text. Please note that JSONParser is NOT thread-safe.
  * 
@@ -60,9 +65,63 @@ class JSONParserString extends JSONParserMemory {
 		xs = in.substring(beginIndex, endIndex);
 	}
 
+	protected void extractCachedString(int beginIndex, int endIndex) {
+		xs = stringCache.get(in, beginIndex, endIndex);
+	}
+
+	protected boolean isPlainString(int start, int stop) {
+		for (int i = start; i < stop; i++) {
+			char ch = in.charAt(i);
+			if (ch == '\\' || (!ignoreControlChar && (ch <= 31 || ch == 127)))
+				return false;
+		}
+		return true;
+	}
+
 	protected int indexOf(char c, int pos) {
 		return in.indexOf(c, pos);
 	}
+
+	/**
+	 * keep a reference on the input text instead of building a String
+	 */
+	protected Object readLazyString() throws ParseException, IOException {
+		if (!acceptSimpleQuote && c == '\'') {
+			readString();
+			return xs;
+		}
+		int start = pos + 1;
+		int tmpP = in.indexOf(c, start);
+		if (tmpP == -1)
+			throw new ParseException(len, ERROR_UNEXPECTED_EOF, null);
+		int esc = in.indexOf('\\', start);
+		if (esc == -1 || esc > tmpP) {
+			if (!ignoreControlChar)
+				for (int i = start; i < tmpP; i++) {
+					char ch = in.charAt(i);
+					if (ch <= 31 || ch == 127)
+						throw new ParseException(i, ERROR_UNEXPECTED_CHAR, ch);
+				}
+			pos = tmpP;
+			read();
+			return new JSONLazyString(in, start, tmpP, false);
+		}
+		skipString2();
+		tmpP = pos;
+		read();
+		return new JSONLazyString(in, start, tmpP, true);
+	}
+
+	protected Object readPrimitiveArray(Class<?> component) {
+		NumberArrayReader r = new NumberArrayReader(in, len);
+		Object array = r.read(pos, component);
+		if (array != null) {
+			pos = r.pos - 1;
+			read();
+		}
+		return array;
+	}
+
 	/**
 	 * Read next char or END OF INPUT
 	 */
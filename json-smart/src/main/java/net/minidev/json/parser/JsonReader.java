@@ -0,0 +1,62 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minidev.json.JSONUtil;
+
+/**
+ * Registry of the JsonReaderI used to bind JSON Objects to bean classes.
+ * Classes without registered reader use the reflective binding.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class JsonReader {
+	private final ConcurrentHashMap<Class<?>, JsonReaderI<?>> data = new ConcurrentHashMap<Class<?>, JsonReaderI<?>>();
+
+	/**
+	 * registers the readers of the JsonReaderProvider services seen from the
+	 * context ClassLoader
+	 */
+	public JsonReader() {
+		registerProviders(JSONUtil.defaultLoader());
+	}
+
+	public <T> void registerReader(JsonReaderI<T> reader, Class<T> cls) {
+		data.put(cls, reader);
+	}
+
+	/**
+	 * @return the reader registered for cls, null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> JsonReaderI<T> getReader(Class<T> cls) {
+		return (JsonReaderI<T>) data.get(cls);
+	}
+
+	/**
+	 * Register the readers of the JsonReaderProvider services listed in
+	 * META-INF/services/net.minidev.json.parser.JsonReaderProvider resources
+	 * visible from loader. Providers failing to load are logged and skipped.
+	 */
+	public void registerProviders(ClassLoader loader) {
+		for (JsonReaderProvider provider : JSONUtil.loadServices(JsonReaderProvider.class, loader))
+			provider.registerReaders(this);
+	}
+}
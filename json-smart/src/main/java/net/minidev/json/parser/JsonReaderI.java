@@ -0,0 +1,50 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.reflect.Type;
+
+/**
+ * Bind JSON Objects to one bean class, used by the typed parse methods like
+ * {@link JSONParser#parse(String, Class)} instead of the reflective binding
+ * when registered in {@link net.minidev.json.JSONValue#defaultReader}. The
+ * json-smart-processor generates one for each @JsonSmart class.
+ *
+ * Values given to set() are already converted to the type returned by
+ * getType() for their key.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public interface JsonReaderI<T> {
+	/**
+	 * @return a new empty instance
+	 */
+	public T newInstance();
+
+	/**
+	 * @return the declared type of the property bound to key, null if the key
+	 *         is ignored
+	 */
+	public Type getType(String key);
+
+	/**
+	 * set the property bound to key, value is never null for primitive
+	 * properties
+	 */
+	public void set(T bean, String key, Object value);
+}
@@ -0,0 +1,37 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Service registering readers in new JsonReader instances. Implementations
+ * are listed in META-INF/services/net.minidev.json.parser.JsonReaderProvider
+ * resources, like the readers generated for {@link net.minidev.json.JsonSmart}
+ * classes.
+ *
+ * New JsonReader instances, like JSONValue.defaultReader, load the providers
+ * seen from the context ClassLoader of the thread creating them, see
+ * {@link JsonReader#registerProviders(ClassLoader)} for other loaders.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public interface JsonReaderProvider {
+	/**
+	 * register readers using {@link JsonReader#registerReader}
+	 */
+	public void registerReaders(JsonReader reader);
+}
@@ -0,0 +1,324 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.lang.reflect.Array;
+
+/**
+ * Read a JSON Array of numbers directly into an int[], long[], double[] or
+ * float[], without boxing the values. Only plain RFC4627 number arrays are
+ * handled, for anything else (null, String, trailing comma...) read() returns
+ * null and the caller parses the Array the usual way.
+ *
+ * Doubles and floats having at most 15 significant digits and a small
+ * exponent are computed exactly from their digits, others are converted with
+ * Double.parseDouble / Float.parseFloat.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class NumberArrayReader {
+	private final static double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+			1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private final static float[] POW10F = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	private final CharSequence in;
+	private final int len;
+	/**
+	 * position after the closing ']' once read() succeed
+	 */
+	int pos;
+
+	/*
+	 * last read number
+	 */
+	private boolean negative;
+	private long mantissa;
+	/**
+	 * number of digits in mantissa, leading zeros excluded
+	 */
+	private int digits;
+	private int exp10;
+	private boolean integer;
+	private int start;
+
+	NumberArrayReader(CharSequence in, int len) {
+		this.in = in;
+		this.len = len;
+	}
+
+	NumberArrayReader(byte[] in, int len) {
+		this(new Bytes(in), len);
+	}
+
+	/**
+	 * @param from
+	 *            position of the opening '['
+	 * @param component
+	 *            int, long, double or float primitive class
+	 * @return the array, or null if the text is not a plain number Array
+	 */
+	Object read(int from, Class<?> component) {
+		pos = from + 1;
+		int size = 0;
+		int[] ints = null;
+		long[] longs = null;
+		double[] doubles = null;
+		float[] floats = null;
+		if (component == Integer.TYPE)
+			ints = new int[16];
+		else if (component == Long.TYPE)
+			longs = new long[16];
+		else if (component == Double.TYPE)
+			doubles = new double[16];
+		else
+			floats = new float[16];
+		skipSpace();
+		if (pos < len && in.charAt(pos) == ']') {
+			pos++;
+			return Array.newInstance(component, 0);
+		}
+		for (;;) {
+			skipSpace();
+			if (!readNumber())
+				return null;
+			if (ints != null) {
+				if (!integer || mantissa > (negative ? 0x80000000L : Integer.MAX_VALUE))
+					return null;
+				if (size == ints.length)
+					ints = grow(ints);
+				ints[size++] = (int) (negative ? -mantissa : mantissa);
+			} else if (longs != null) {
+				// 19 digits values are left to the parser
+				if (!integer)
+					return null;
+				if (size == longs.length)
+					longs = grow(longs);
+				longs[size++] = negative ? -mantissa : mantissa;
+			} else if (doubles != null) {
+				if (size == doubles.length)
+					doubles = grow(doubles);
+				doubles[size++] = toDouble();
+			} else {
+				if (size == floats.length)
+					floats = grow(floats);
+				floats[size++] = toFloat();
+			}
+			skipSpace();
+			if (pos >= len)
+				return null;
+			char c = in.charAt(pos++);
+			if (c == ']')
+				break;
+			if (c != ',')
+				return null;
+		}
+		if (ints != null)
+			return trim(ints, size);
+		if (longs != null)
+			return trim(longs, size);
+		if (doubles != null)
+			return trim(doubles, size);
+		return trim(floats, size);
+	}
+
+	private void skipSpace() {
+		while (pos < len) {
+			char c = in.charAt(pos);
+			if (c != ' ' && c != '\t' && c != '\n' && c != '\r')
+				return;
+			pos++;
+		}
+	}
+
+	/**
+	 * read -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+	 *
+	 * @return false if the text is not a valid number, or does not fit
+	 */
+	private boolean readNumber() {
+		start = pos;
+		negative = false;
+		mantissa = 0;
+		digits = 0;
+		exp10 = 0;
+		integer = true;
+		if (pos < len && in.charAt(pos) == '-') {
+			negative = true;
+			pos++;
+		}
+		int intStart = pos;
+		if (!readDigits(false))
+			return false;
+		if (pos - intStart > 1 && in.charAt(intStart) == '0')
+			return false;
+		if (pos < len && in.charAt(pos) == '.') {
+			pos++;
+			integer = false;
+			if (!readDigits(true))
+				return false;
+		}
+		if (pos < len && (in.charAt(pos) | 0x20) == 'e') {
+			pos++;
+			integer = false;
+			boolean negExp = false;
+			if (pos < len && (in.charAt(pos) == '+' || in.charAt(pos) == '-'))
+				negExp = in.charAt(pos++) == '-';
+			int expStart = pos;
+			int e = 0;
+			while (pos < len) {
+				char c = in.charAt(pos);
+				if (c < '0' || c > '9')
+					break;
+				if (e < 100000)
+					e = e * 10 + (c - '0');
+				pos++;
+			}
+			if (pos == expStart)
+				return false;
+			exp10 += negExp ? -e : e;
+		}
+		return true;
+	}
+
+	/**
+	 * @return false if there is no digit
+	 */
+	private boolean readDigits(boolean fraction) {
+		int from = pos;
+		while (pos < len) {
+			char c = in.charAt(pos);
+			if (c < '0' || c > '9')
+				break;
+			pos++;
+			if (digits < 18) {
+				mantissa = mantissa * 10 + (c - '0');
+				if (mantissa != 0)
+					digits++;
+				if (fraction)
+					exp10--;
+			} else {
+				// extra digits are only used by the slow conversions
+				digits++;
+				integer = false;
+				if (!fraction)
+					exp10++;
+			}
+		}
+		return pos > from;
+	}
+
+	private double toDouble() {
+		if (digits <= 15 && exp10 >= -22 && exp10 <= 22) {
+			double d = (double) mantissa;
+			d = exp10 < 0 ? d / POW10[-exp10] : d * POW10[exp10];
+			return negative ? -d : d;
+		}
+		return Double.parseDouble(in.subSequence(start, pos).toString());
+	}
+
+	private float toFloat() {
+		if (digits <= 7 && exp10 >= -10 && exp10 <= 10) {
+			float f = (float) mantissa;
+			f = exp10 < 0 ? f / POW10F[-exp10] : f * POW10F[exp10];
+			return negative ? -f : f;
+		}
+		return Float.parseFloat(in.subSequence(start, pos).toString());
+	}
+
+	private static int[] grow(int[] a) {
+		int[] a2 = new int[a.length * 2];
+		System.arraycopy(a, 0, a2, 0, a.length);
+		return a2;
+	}
+
+	private static long[] grow(long[] a) {
+		long[] a2 = new long[a.length * 2];
+		System.arraycopy(a, 0, a2, 0, a.length);
+		return a2;
+	}
+
+	private static double[] grow(double[] a) {
+		double[] a2 = new double[a.length * 2];
+		System.arraycopy(a, 0, a2, 0, a.length);
+		return a2;
+	}
+
+	private static float[] grow(float[] a) {
+		float[] a2 = new float[a.length * 2];
+		System.arraycopy(a, 0, a2, 0, a.length);
+		return a2;
+	}
+
+	private static int[] trim(int[] a, int size) {
+		if (a.length == size)
+			return a;
+		int[] a2 = new int[size];
+		System.arraycopy(a, 0, a2, 0, size);
+		return a2;
+	}
+
+	private static long[] trim(long[] a, int size) {
+		if (a.length == size)
+			return a;
+		long[] a2 = new long[size];
+		System.arraycopy(a, 0, a2, 0, size);
+		return a2;
+	}
+
+	private static double[] trim(double[] a, int size) {
+		if (a.length == size)
+			return a;
+		double[] a2 = new double[size];
+		System.arraycopy(a, 0, a2, 0, size);
+		return a2;
+	}
+
+	private static float[] trim(float[] a, int size) {
+		if (a.length == size)
+			return a;
+		float[] a2 = new float[size];
+		System.arraycopy(a, 0, a2, 0, size);
+		return a2;
+	}
+
+	/**
+	 * ASCII view of UTF-8 bytes, enough for numbers
+	 */
+	private static class Bytes implements CharSequence {
+		private final byte[] data;
+
+		Bytes(byte[] data) {
+			this.data = data;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public char charAt(int index) {
+			return (char) (data[index] & 0xFF);
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public int length() {
+			return data.length;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public CharSequence subSequence(int start, int end) {
+			return new String(data, start, end - start);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Location of the value being parsed, given to {@link PathContainerFactory}.
+ * The instance is reused and updated by the parser, do not keep it.
+ *
+ * Level 0 is the root value, level n is identified by an Object key or an
+ * Array index in the level n-1 container.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class ParsePath {
+	private String[] keys = new String[16];
+	private int[] indexes = new int[16];
+	private int depth;
+
+	void clear() {
+		depth = 0;
+	}
+
+	void push(String key) {
+		ensure();
+		keys[depth] = key;
+		indexes[depth] = -1;
+		depth++;
+	}
+
+	void push(int index) {
+		ensure();
+		keys[depth] = null;
+		indexes[depth] = index;
+		depth++;
+	}
+
+	void pop() {
+		depth--;
+	}
+
+	private void ensure() {
+		if (depth < keys.length)
+			return;
+		String[] k2 = new String[depth * 2];
+		System.arraycopy(keys, 0, k2, 0, depth);
+		keys = k2;
+		int[] i2 = new int[depth * 2];
+		System.arraycopy(indexes, 0, i2, 0, depth);
+		indexes = i2;
+	}
+
+	/**
+	 * @return 0 for the root value
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @param level
+	 *            from 1 to getDepth()
+	 * @return the Object key used at this level, null if the level is an Array
+	 *         element
+	 */
+	public String getKey(int level) {
+		return keys[level - 1];
+	}
+
+	/**
+	 * @param level
+	 *            from 1 to getDepth()
+	 * @return the Array index used at this level, -1 if the level is an Object
+	 *         entry
+	 */
+	public int getIndex(int level) {
+		return indexes[level - 1];
+	}
+
+	/**
+	 * @return the key of the current value in its parent Object, or null
+	 */
+	public String getParentKey() {
+		if (depth == 0)
+			return null;
+		return keys[depth - 1];
+	}
+
+	/**
+	 * Check the current location against a pattern like $.items[*].meta or
+	 * $.points[0], [*] matching any Array index. Do not allocate.
+	 */
+	public boolean matches(String pattern) {
+		int len = pattern.length();
+		if (len == 0 || pattern.charAt(0) != '$')
+			return false;
+		int p = 1;
+		for (int level = 0; level < depth; level++) {
+			if (p >= len)
+				return false;
+			char c = pattern.charAt(p);
+			if (c == '.') {
+				String k = keys[level];
+				if (k == null)
+					return false;
+				int e = p + 1;
+				while (e < len && pattern.charAt(e) != '.' && pattern.charAt(e) != '[')
+					e++;
+				if (e - p - 1 != k.length() || !pattern.regionMatches(p + 1, k, 0, k.length()))
+					return false;
+				p = e;
+			} else if (c == '[') {
+				if (keys[level] != null)
+					return false;
+				int e = pattern.indexOf(']', p);
+				if (e == -1)
+					return false;
+				if (e != p + 2 || pattern.charAt(p + 1) != '*') {
+					int v = 0;
+					for (int i = p + 1; i < e; i++) {
+						char d = pattern.charAt(i);
+						if (d < '0' || d > '9')
+							return false;
+						v = v * 10 + d - '0';
+					}
+					if (e == p + 1 || v != indexes[level])
+						return false;
+				}
+				p = e + 1;
+			} else
+				return false;
+		}
+		return p == len;
+	}
+
+	/**
+	 * @return the current location like $.items[3].meta
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("$");
+		for (int i = 0; i < depth; i++) {
+			if (keys[i] != null)
+				sb.append('.').append(keys[i]);
+			else
+				sb.append('[').append(indexes[i]).append(']');
+		}
+		return sb.toString();
+	}
+}
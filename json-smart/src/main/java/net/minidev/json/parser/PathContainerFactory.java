@@ -0,0 +1,44 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Container factory choosing containers according to their location in the
+ * parsed document. When the parser is given a PathContainerFactory, it calls
+ * the path aware methods instead of the ContainerFactory ones.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public interface PathContainerFactory extends ContainerFactory {
+	/**
+	 * @param path
+	 *            location of the new Object, only valid during the call
+	 * @return A Map instance to build JSON object.
+	 */
+	public Map<String, Object> createObjectContainer(ParsePath path);
+
+	/**
+	 * @param path
+	 *            location of the new Array, only valid during the call
+	 * @return A List instance to store JSON array.
+	 */
+	public List<Object> createArrayContainer(ParsePath path);
+}
@@ -0,0 +1,44 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PathContainerFactory also notified when a container is fully parsed. The
+ * returned value replace the container in the parsed document, allowing to
+ * trim, convert or share it.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public interface PathContainerFactoryEx extends PathContainerFactory {
+	/**
+	 * @param path
+	 *            location of the Object, only valid during the call
+	 * @return the value to store in the document, usually obj
+	 */
+	public Object finishObjectContainer(ParsePath path, Map<String, Object> obj);
+
+	/**
+	 * @param path
+	 *            location of the Array, only valid during the call
+	 * @return the value to store in the document, usually list
+	 */
+	public Object finishArrayContainer(ParsePath path, List<Object> list);
+}
@@ -0,0 +1,130 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+
+/**
+ * Container factory recycling JSONObject and JSONArray instances. Once a
+ * parsed document is no longer used, call {@link #release(Object)} to clear
+ * its containers and store them in the calling thread pool, next parses on the
+ * same thread will reuse them.
+ *
+ * The released document and all its sub-containers must not be used after
+ * the release call, and must not be released again.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class PoolingContainerFactory implements ContainerFactory {
+	private final int maxObjects;
+	private final int maxArrays;
+
+	private final ThreadLocal<Pool> pools = new ThreadLocal<Pool>() {
+		protected Pool initialValue() {
+			return new Pool();
+		}
+	};
+
+	/**
+	 * per thread storage
+	 */
+	private class Pool {
+		final JSONObject[] objects = new JSONObject[maxObjects];
+		final JSONArray[] arrays = new JSONArray[maxArrays];
+		int nbObjects;
+		int nbArrays;
+		/**
+		 * containers visited by the running release, reused between calls
+		 */
+		final IdentityHashMap<Object, Object> done = new IdentityHashMap<Object, Object>();
+	}
+
+	public PoolingContainerFactory() {
+		this(256, 256);
+	}
+
+	/**
+	 * @param maxObjects
+	 *            max number of JSONObject kept per thread
+	 * @param maxArrays
+	 *            max number of JSONArray kept per thread
+	 */
+	public PoolingContainerFactory(int maxObjects, int maxArrays) {
+		this.maxObjects = maxObjects;
+		this.maxArrays = maxArrays;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public Map<String, Object> createObjectContainer() {
+		Pool pool = pools.get();
+		if (pool.nbObjects == 0)
+			return new JSONObject();
+		JSONObject o = pool.objects[--pool.nbObjects];
+		pool.objects[pool.nbObjects] = null;
+		return o;
+	}
+
+	// @Override JDK 1.5 compatibility change
+	public List<Object> createArrayContainer() {
+		Pool pool = pools.get();
+		if (pool.nbArrays == 0)
+			return new JSONArray();
+		JSONArray a = pool.arrays[--pool.nbArrays];
+		pool.arrays[pool.nbArrays] = null;
+		return a;
+	}
+
+	/**
+	 * Clear all JSONObject and JSONArray of a document and keep them in the
+	 * current thread pool, until the pool is full. A container referenced
+	 * more than once in the document is kept only once.
+	 */
+	public void release(Object root) {
+		Pool pool = pools.get();
+		try {
+			release(root, pool);
+		} finally {
+			pool.done.clear();
+		}
+	}
+
+	private void release(Object value, Pool pool) {
+		if (!(value instanceof JSONObject || value instanceof JSONArray) || pool.done.put(value, value) != null)
+			return;
+		if (value instanceof JSONObject) {
+			JSONObject o = (JSONObject) value;
+			for (Object v : o.values())
+				release(v, pool);
+			o.clear();
+			if (pool.nbObjects < maxObjects && o.getClass() == JSONObject.class)
+				pool.objects[pool.nbObjects++] = o;
+		} else {
+			JSONArray a = (JSONArray) value;
+			for (int i = a.size() - 1; i >= 0; i--)
+				release(a.get(i), pool);
+			a.clear();
+			if (pool.nbArrays < maxArrays && a.getClass() == JSONArray.class)
+				pool.arrays[pool.nbArrays++] = a;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ContainerFactory also notified of the input range of each parsed container.
+ * The returned value replace the container in the parsed document.
+ *
+ * Ranges are char offsets for String input, byte offsets for byte[] input,
+ * and the number of read chars or bytes for streams.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public interface SourceContainerFactory extends ContainerFactory {
+	/**
+	 * @param start
+	 *            offset of the opening '{'
+	 * @param end
+	 *            offset following the closing '}'
+	 * @return the value to store in the document, usually obj
+	 */
+	public Object finishObjectContainer(Map<String, Object> obj, int start, int end);
+
+	/**
+	 * @param start
+	 *            offset of the opening '['
+	 * @param end
+	 *            offset following the closing ']'
+	 * @return the value to store in the document, usually list
+	 */
+	public Object finishArrayContainer(List<Object> list, int start, int end);
+}
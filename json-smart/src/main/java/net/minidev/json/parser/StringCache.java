@@ -0,0 +1,116 @@
+package net.minidev.json.parser;
+
+/*
+ *    Copyright 2011 JSON-SMART authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Bounded direct-mapped String cache, used to return the same String instance
+ * for repeated short values. The cache lookup do not allocate, a new String is
+ * only built on miss, replacing the previous entry of the same slot.
+ *
+ * Not thread-safe, one cache belongs to one JSONParser.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+class StringCache {
+	final int maxLength;
+	private final String[] table;
+	private final int mask;
+
+	/**
+	 * @param size
+	 *            number of slots, rounded up to a power of 2
+	 * @param maxLength
+	 *            longer Strings are not cached
+	 */
+	StringCache(int size, int maxLength) {
+		int cap = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+		this.table = new String[cap];
+		this.mask = cap - 1;
+		this.maxLength = maxLength;
+	}
+
+	private static int slot(int h) {
+		return h ^ (h >>> 16);
+	}
+
+	String get(String in, int start, int stop) {
+		int len = stop - start;
+		if (len > maxLength)
+			return in.substring(start, stop);
+		int h = 0;
+		for (int i = start; i < stop; i++)
+			h = 31 * h + in.charAt(i);
+		int p = slot(h) & mask;
+		String s = table[p];
+		if (s != null && s.length() == len && s.hashCode() == h && in.regionMatches(start, s, 0, len))
+			return s;
+		s = in.substring(start, stop);
+		table[p] = s;
+		return s;
+	}
+
+	String get(char[] in, int start, int stop) {
+		int len = stop - start;
+		if (len > maxLength)
+			return new String(in, start, len);
+		int h = 0;
+		for (int i = start; i < stop; i++)
+			h = 31 * h + in[i];
+		int p = slot(h) & mask;
+		String s = table[p];
+		if (s != null && s.length() == len && s.hashCode() == h) {
+			int i = 0;
+			while (i < len && s.charAt(i) == in[start + i])
+				i++;
+			if (i == len)
+				return s;
+		}
+		s = new String(in, start, len);
+		table[p] = s;
+		return s;
+	}
+
+	/**
+	 * only ASCII byte sequences are cached, other are decoded with the default
+	 * charset like in JSONParserByteArray
+	 */
+	String get(byte[] in, int start, int stop) {
+		int len = stop - start;
+		if (len > maxLength)
+			return new String(in, start, len);
+		int h = 0;
+		for (int i = start; i < stop; i++) {
+			byte b = in[i];
+			if (b < 0)
+				return new String(in, start, len);
+			h = 31 * h + b;
+		}
+		int p = slot(h) & mask;
+		String s = table[p];
+		if (s != null && s.length() == len && s.hashCode() == h) {
+			int i = 0;
+			while (i < len && s.charAt(i) == in[start + i])
+				i++;
+			if (i == len)
+				return s;
+		}
+		s = new String(in, start, len);
+		table[p] = s;
+		return s;
+	}
+}
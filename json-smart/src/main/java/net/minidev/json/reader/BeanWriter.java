@@ -0,0 +1,222 @@
+package net.minidev.json.reader;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONUtil;
+import net.minidev.json.JSONValue;
+
+/**
+ * Writer dedicated to one Java bean class, built once per class from its
+ * serialization plan: the serialized fields in output order, with the Field or
+ * getter Method used to read them, the way to write their type, and their
+ * encoded key for the last used JSONStyle. Public primitive fields are read
+ * and written without boxing.
+ * 
+ * Registered for its class on first use, see
+ * {@link JsonWriter#getBeanWriter(Class)}.
+ * 
+ * @since 1.3.2
+ * 
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+final class BeanWriter implements JsonWriterI<Object> {
+	private final static ConcurrentHashMap<Class<?>, BeanWriter> plans = new ConcurrentHashMap<Class<?>, BeanWriter>();
+
+	final String[] names;
+	/**
+	 * for each name, the public Field to read, or null
+	 */
+	private final Field[] fields;
+	/**
+	 * for each name, the getter to call if the Field is not public
+	 */
+	private final Method[] getters;
+	/**
+	 * for each name, how to read and write the value
+	 */
+	private final byte[] types;
+	private volatile EncodedKeys encoded;
+
+	private final static byte T_OBJECT = 0;
+	private final static byte T_STRING = 1;
+	/**
+	 * public long, int, short or byte field
+	 */
+	private final static byte T_LONG = 2;
+	/**
+	 * public boolean field
+	 */
+	private final static byte T_BOOLEAN = 3;
+
+	/**
+	 * keys encoded for one style, replaced as a whole
+	 */
+	private static class EncodedKeys {
+		final JSONStyle style;
+		final String[] keys;
+
+		EncodedKeys(JSONStyle style, String[] keys) {
+			this.style = style;
+			this.keys = keys;
+		}
+	}
+
+	static BeanWriter get(Class<?> cls) {
+		BeanWriter plan = plans.get(cls);
+		if (plan == null) {
+			plan = new BeanWriter(cls);
+			BeanWriter prev = plans.putIfAbsent(cls, plan);
+			if (prev != null)
+				plan = prev;
+		}
+		return plan;
+	}
+
+	/**
+	 * same fields and order as the previous per call lookup: declared fields
+	 * from the class to its super classes, skipping static, transient and
+	 * final ones, and non public ones without getter.
+	 * 
+	 * Final fields are kept for immutable classes built by a creator, see
+	 * JSONUtil.getCreator, their getter can also be named like the field, as
+	 * record accessors.
+	 */
+	private BeanWriter(Class<?> cls) {
+		ArrayList<String> names = new ArrayList<String>();
+		ArrayList<Field> fields = new ArrayList<Field>();
+		ArrayList<Method> getters = new ArrayList<Method>();
+		ArrayList<Class<?>> types = new ArrayList<Class<?>>();
+		int skip = Modifier.STATIC | Modifier.TRANSIENT;
+		if (JSONUtil.getCreator(cls) == null)
+			skip |= Modifier.FINAL;
+		for (Class<?> c = cls; c != Object.class && c != null; c = c.getSuperclass()) {
+			Method[] methods = c.getDeclaredMethods();
+			for (Field field : c.getDeclaredFields()) {
+				int m = field.getModifiers();
+				if ((m & skip) > 0)
+					continue;
+				if ((m & Modifier.PUBLIC) > 0) {
+					names.add(field.getName());
+					fields.add(field);
+					getters.add(null);
+					types.add(field.getType());
+					continue;
+				}
+				Method mtd = findGetter(methods, JSONUtil.getGetterName(field.getName()));
+				if (mtd == null) {
+					Class<?> c2 = field.getType();
+					if (c2 == Boolean.TYPE || c2 == Boolean.class)
+						mtd = findGetter(methods, JSONUtil.getIsName(field.getName()));
+				}
+				if (mtd == null && (m & Modifier.FINAL) > 0)
+					mtd = findGetter(methods, field.getName());
+				if (mtd == null)
+					continue;
+				names.add(field.getName());
+				fields.add(null);
+				getters.add(mtd);
+				types.add(mtd.getReturnType());
+			}
+		}
+		this.names = names.toArray(new String[names.size()]);
+		this.fields = fields.toArray(new Field[fields.size()]);
+		this.getters = getters.toArray(new Method[getters.size()]);
+		this.types = new byte[types.size()];
+		for (int i = 0; i < this.types.length; i++)
+			this.types[i] = typeOf(types.get(i), this.fields[i] != null);
+	}
+
+	private static byte typeOf(Class<?> type, boolean field) {
+		if (type == String.class)
+			return T_STRING;
+		// getters box their result anyway
+		if (!field)
+			return T_OBJECT;
+		if (type == Long.TYPE || type == Integer.TYPE || type == Short.TYPE || type == Byte.TYPE)
+			return T_LONG;
+		if (type == Boolean.TYPE)
+			return T_BOOLEAN;
+		return T_OBJECT;
+	}
+
+	private static Method findGetter(Method[] methods, String name) {
+		for (Method m : methods)
+			if (m.getParameterTypes().length == 0 && m.getName().equals(name))
+				return m;
+		return null;
+	}
+
+	public <E> void writeJSONString(E value, Appendable out, JSONStyle compression) throws IOException {
+		try {
+			String[] keys = encodedKeys(compression);
+			boolean needSep = false;
+			compression.objectStart(out);
+			for (int i = 0; i < keys.length; i++) {
+				byte type = types[i];
+				Object v = null;
+				if (type == T_OBJECT || type == T_STRING) {
+					v = get(value, i);
+					if (v == null && compression.ignoreNull())
+						continue;
+				}
+				if (needSep)
+					compression.objectNext(out);
+				else
+					needSep = true;
+				out.append(keys[i]);
+				compression.objectEndOfKey(out);
+				switch (type) {
+				case T_LONG:
+					JsonWriter.writeLong(fields[i].getLong(value), out);
+					break;
+				case T_BOOLEAN:
+					out.append(fields[i].getBoolean(value) ? "true" : "false");
+					break;
+				case T_STRING:
+					if (v == null)
+						out.append("null");
+					else
+						compression.writeString(out, (String) v);
+					break;
+				default:
+					JSONValue.writeJSONString(v, out, compression);
+				}
+				compression.objectElmStop(out);
+			}
+			compression.objectStop(out);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	Object get(Object bean, int i) throws Exception {
+		Field f = fields[i];
+		if (f != null)
+			return f.get(bean);
+		return getters[i].invoke(bean);
+	}
+
+	/**
+	 * @return names quoted and escaped as required by style
+	 */
+	String[] encodedKeys(JSONStyle style) throws IOException {
+		EncodedKeys e = encoded;
+		if (e != null && e.style == style)
+			return e.keys;
+		String[] keys = new String[names.length];
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < keys.length; i++) {
+			sb.setLength(0);
+			style.writeKey(sb, names[i]);
+			keys[i] = sb.toString();
+		}
+		encoded = new EncodedKeys(style, keys);
+		return keys;
+	}
+}
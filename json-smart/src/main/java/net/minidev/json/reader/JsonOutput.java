@@ -0,0 +1,298 @@
+package net.minidev.json.reader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Char buffer targeted by the serializer. JSONValue, JSONObject and JSONArray
+ * wrap the caller Appendable in a JsonOutput, so all writers and JSONStyle
+ * methods append to this single final class, Strings are bulk copied and
+ * integers are written without building a String. The target Appendable only
+ * receives the buffer content when it is full and on {@link #flush()}.
+ * 
+ * Built without target, the buffer grows and {@link #toString()} returns the
+ * text.
+ * 
+ * Internal class, not thread-safe.
+ * 
+ * @since 1.3.2
+ * 
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public final class JsonOutput implements Appendable {
+	private final Appendable target;
+	private char[] buf;
+	private int pos;
+
+	/**
+	 * growing buffer, read with toString()
+	 */
+	public JsonOutput() {
+		this.target = null;
+		this.buf = new char[128];
+	}
+
+	public JsonOutput(Appendable target) {
+		this(target, 1024);
+	}
+
+	public JsonOutput(Appendable target, int bufferSize) {
+		this.target = target;
+		this.buf = new char[Math.max(bufferSize, 20)];
+	}
+
+	/**
+	 * make room for n chars
+	 */
+	private void require(int n) throws IOException {
+		if (pos + n <= buf.length)
+			return;
+		if (target != null) {
+			flushBuffer();
+			if (n <= buf.length)
+				return;
+		}
+		char[] b2 = new char[Math.max(buf.length * 2, pos + n)];
+		System.arraycopy(buf, 0, b2, 0, pos);
+		buf = b2;
+	}
+
+	public JsonOutput append(char c) throws IOException {
+		if (pos == buf.length)
+			require(1);
+		buf[pos++] = c;
+		return this;
+	}
+
+	public JsonOutput append(CharSequence csq) throws IOException {
+		if (csq == null)
+			csq = "null";
+		return append(csq, 0, csq.length());
+	}
+
+	public JsonOutput append(CharSequence csq, int start, int end) throws IOException {
+		if (csq == null)
+			csq = "null";
+		if (csq instanceof String)
+			return write((String) csq, start, end);
+		for (int i = start; i < end; i++)
+			append(csq.charAt(i));
+		return this;
+	}
+
+	public JsonOutput write(String s) throws IOException {
+		return write(s, 0, s.length());
+	}
+
+	/**
+	 * bulk copy of s[from, to[
+	 */
+	public JsonOutput write(String s, int from, int to) throws IOException {
+		while (from < to) {
+			require(Math.min(to - from, buf.length));
+			int n = Math.min(to - from, buf.length - pos);
+			s.getChars(from, from + n, buf, pos);
+			pos += n;
+			from += n;
+		}
+		return this;
+	}
+
+	/**
+	 * bulk copy of s[from, to[
+	 */
+	public JsonOutput write(char[] s, int from, int to) throws IOException {
+		while (from < to) {
+			require(Math.min(to - from, buf.length));
+			int n = Math.min(to - from, buf.length - pos);
+			System.arraycopy(s, from, buf, pos, n);
+			pos += n;
+			from += n;
+		}
+		return this;
+	}
+
+	/**
+	 * write decimal digits directly in the buffer
+	 */
+	public JsonOutput writeLong(long v) throws IOException {
+		if (v == Long.MIN_VALUE)
+			return write("-9223372036854775808");
+		require(20);
+		if (v < 0) {
+			buf[pos++] = '-';
+			v = -v;
+		}
+		int len = 1;
+		for (long t = v; t >= 10; t /= 10)
+			len++;
+		int p = pos + len;
+		pos = p;
+		do {
+			buf[--p] = (char) ('0' + (int) (v % 10));
+			v /= 10;
+		} while (v != 0);
+		return this;
+	}
+
+	/**
+	 * exact powers of ten
+	 */
+	private final static double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13,
+			1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * Write a double using the Double.toString format, with the shortest
+	 * digits reading back as the same value. Values needing more than 15
+	 * significant digits, or too large for an exact long mantissa, are written
+	 * with Double.toString.
+	 */
+	public JsonOutput writeDouble(double v) throws IOException {
+		if (v != v || Double.isInfinite(v))
+			return write(Double.toString(v));
+		if (v == 0)
+			return write(1 / v < 0 ? "-0.0" : "0.0");
+		double a = Math.abs(v);
+		if (a < 9.007199254740992E15 && a == Math.floor(a))
+			return writeDecimal(v < 0, (long) a, 0);
+		// with at most 15 digits, rint(a * 10^k) is the only candidate and
+		// the first k reading back as a is the shortest form
+		for (int k = 1; k < POW10.length; k++) {
+			double t = a * POW10[k];
+			if (t >= 1e15)
+				break;
+			double m = Math.rint(t);
+			if (m / POW10[k] == a)
+				return writeDecimal(v < 0, (long) m, -k);
+		}
+		return write(Double.toString(v));
+	}
+
+	/**
+	 * Write a float using the Float.toString format, with the shortest digits
+	 * reading back as the same value. Uncertain cases are written with
+	 * Float.toString.
+	 */
+	public JsonOutput writeFloat(float v) throws IOException {
+		if (v != v || Float.isInfinite(v))
+			return write(Float.toString(v));
+		if (v == 0)
+			return write(1 / v < 0 ? "-0.0" : "0.0");
+		double a = Math.abs((double) v);
+		if (a < 16777216 && a == Math.floor(a))
+			return writeDecimal(v < 0, (long) a, 0);
+		// accept a decimal only if clearly closer to v than to its neighbors
+		double halfUlp = Math.ulp(Math.abs(v)) * 0.499999;
+		for (int k = 1; k < 12; k++) {
+			double t = a * POW10[k];
+			if (t >= 1e8)
+				break;
+			double m = Math.rint(t);
+			if (Math.abs(m / POW10[k] - a) < halfUlp)
+				return writeDecimal(v < 0, (long) m, -k);
+		}
+		return write(Float.toString(v));
+	}
+
+	/**
+	 * write m * 10^exp, using Double.toString layout: plain from 10^-3 to
+	 * 10^7, computerized scientific notation otherwise.
+	 */
+	private JsonOutput writeDecimal(boolean negative, long m, int exp) throws IOException {
+		while (m % 10 == 0) {
+			m /= 10;
+			exp++;
+		}
+		int n = 1;
+		for (long t = m; t >= 10; t /= 10)
+			n++;
+		int sciExp = n - 1 + exp;
+		// sign, digits, up to 7 padding zeros, '.', "E-324"
+		require(n + 16);
+		char[] b = buf;
+		int p = pos;
+		if (negative)
+			b[p++] = '-';
+		if (sciExp >= -3 && sciExp < 7) {
+			if (exp >= 0) {
+				p = digits(b, p, m, n);
+				for (int i = 0; i < exp; i++)
+					b[p++] = '0';
+				b[p++] = '.';
+				b[p++] = '0';
+			} else if (n + exp > 0) {
+				// write digits one char right, then move the integer part back
+				int start = p;
+				int intLen = n + exp;
+				p = digits(b, start + 1, m, n);
+				System.arraycopy(b, start + 1, b, start, intLen);
+				b[start + intLen] = '.';
+			} else {
+				b[p++] = '0';
+				b[p++] = '.';
+				for (int i = n + exp; i < 0; i++)
+					b[p++] = '0';
+				p = digits(b, p, m, n);
+			}
+			pos = p;
+			return this;
+		}
+		// d.dddEx
+		int start = p;
+		p = digits(b, start + 1, m, n);
+		b[start] = b[start + 1];
+		b[start + 1] = '.';
+		if (n == 1)
+			b[p++] = '0';
+		b[p++] = 'E';
+		pos = p;
+		return writeLong(sciExp);
+	}
+
+	/**
+	 * write the n digits of m at p
+	 * 
+	 * @return the position after the last digit
+	 */
+	private static int digits(char[] b, int p, long m, int n) {
+		int end = p + n;
+		int i = end;
+		do {
+			b[--i] = (char) ('0' + (int) (m % 10));
+			m /= 10;
+		} while (i > p);
+		return end;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (pos == 0)
+			return;
+		Appendable t = target;
+		if (t instanceof StringBuilder)
+			((StringBuilder) t).append(buf, 0, pos);
+		else if (t instanceof Utf8Writer)
+			((Utf8Writer) t).write(buf, 0, pos);
+		else if (t instanceof Writer)
+			((Writer) t).write(buf, 0, pos);
+		else
+			t.append(CharBuffer.wrap(buf, 0, pos));
+		pos = 0;
+	}
+
+	/**
+	 * send buffered chars to the target Appendable. The target itself is not
+	 * flushed.
+	 */
+	public void flush() throws IOException {
+		if (target != null)
+			flushBuffer();
+	}
+
+	/**
+	 * @return the buffered text
+	 */
+	public String toString() {
+		return new String(buf, 0, pos);
+	}
+}
@@ -1,9 +1,6 @@
 package net.minidev.json.reader;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
@@ -15,6 +12,7 @@ import java.util.concurrent.ConcurrentHashMap;
 //import net.minidev.asm.BeansAccess;
 import net.minidev.json.JSONAware;
 import net.minidev.json.JSONAwareEx;
+import net.minidev.json.JSONOrderedObject;
 //import net.minidev.json.JSONObject;
 import net.minidev.json.JSONStreamAware;
 import net.minidev.json.JSONStreamAwareEx;
@@ -118,6 +116,10 @@ public class JsonWriter {
 	final static public JsonWriterI<Map<String, ? extends Object>> JSONMapWriter = new JsonWriterI<Map<String, ? extends Object>>() {
 		public <E extends Map<String, ? extends Object>> void writeJSONString(E map, Appendable out,
 				JSONStyle compression) throws IOException {
+			if (map instanceof JSONOrderedObject) {
+				((JSONOrderedObject) map).writeJSONString(out, compression);
+				return;
+			}
 			boolean first = true;
 			compression.objectStart(out);
 			/**
@@ -174,56 +176,18 @@ public class JsonWriter {
 	 */
 	final static public JsonWriterI<Object> beansWriter = new JsonWriterI<Object>() {
 		public <E> void writeJSONString(E value, Appendable out, JSONStyle compression) throws IOException {
-			try {
-				Class<?> nextClass = value.getClass();
-				boolean needSep = false;
-				compression.objectStart(out);
-				while (nextClass != Object.class) {
-					Field[] fields = nextClass.getDeclaredFields();
-					for (Field field : fields) {
-						int m = field.getModifiers();
-						if ((m & (Modifier.STATIC | Modifier.TRANSIENT | Modifier.FINAL)) > 0)
-							continue;
-						Object v = null;
-						if ((m & Modifier.PUBLIC) > 0) {
-							v = field.get(value);
-						} else {
-							String g = JSONUtil.getGetterName(field.getName());
-							Method mtd = null;
-
-							try {
-								mtd = nextClass.getDeclaredMethod(g);
-							} catch (Exception e) {
-							}
-							if (mtd == null) {
-								Class<?> c2 = field.getType();
-								if (c2 == Boolean.TYPE || c2 == Boolean.class) {
-									g = JSONUtil.getIsName(field.getName());
-									mtd = nextClass.getDeclaredMethod(g);
-								}
-							}
-							if (mtd == null)
-								continue;
-							v = mtd.invoke(value);
-						}
-						if (v == null && compression.ignoreNull())
-							continue;
-						if (needSep)
-							compression.objectNext(out);
-						else
-							needSep = true;
-						JsonWriter.writeJSONKV(field.getName(), v, out, compression);
-						// compression.objectElmStop(out);
-					}
-					nextClass = nextClass.getSuperclass();
-				}
-				compression.objectStop(out);
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			}
+			BeanWriter.get(value.getClass()).writeJSONString(value, out, compression);
 		}
 	};
 
+	/**
+	 * @return a writer dedicated to a Java bean class, created on first call
+	 * @since 1.3.2
+	 */
+	public static JsonWriterI<Object> getBeanWriter(Class<?> cls) {
+		return BeanWriter.get(cls);
+	}
+
 	final static public JsonWriterI<Object> arrayWriter = new JsonWriterI<Object>() {
 		public <E> void writeJSONString(E value, Appendable out, JSONStyle compression) throws IOException {
 			compression.arrayStart(out);
@@ -257,7 +221,7 @@ public class JsonWriter {
 				if (value.isInfinite())
 					out.append("null");
 				else
-					out.append(value.toString());
+					writeDouble(value.doubleValue(), out);
 			}
 		}, Double.class);
 
@@ -274,15 +238,21 @@ public class JsonWriter {
 				if (value.isInfinite())
 					out.append("null");
 				else
-					out.append(value.toString());
+					writeFloat(value.floatValue(), out);
 			}
 		}, Float.class);
 
+		registerWriter(new JsonWriterI<Number>() {
+			public void writeJSONString(Number value, Appendable out, JSONStyle compression) throws IOException {
+				writeLong(value.longValue(), out);
+			}
+		}, Integer.class, Long.class, Byte.class, Short.class);
+
 		registerWriter(new JsonWriterI<Number>() {
 			public void writeJSONString(Number value, Appendable out, JSONStyle compression) throws IOException {
 				out.append(value.toString());
 			}
-		}, Integer.class, Long.class, Byte.class, Short.class, BigInteger.class, BigDecimal.class);
+		}, BigInteger.class, BigDecimal.class);
 
 		registerWriter(new JsonWriterI<Boolean>() {
 			public void writeJSONString(Boolean value, Appendable out, JSONStyle compression) throws IOException {
@@ -309,7 +279,7 @@ public class JsonWriter {
 						compression.objectNext(out);
 					else
 						needSep = true;
-					out.append(Integer.toString(b));
+					writeLong(b, out);
 				}
 				compression.arrayStop(out);
 			}
@@ -324,7 +294,7 @@ public class JsonWriter {
 						compression.objectNext(out);
 					else
 						needSep = true;
-					out.append(Short.toString(b));
+					writeLong(b, out);
 				}
 				compression.arrayStop(out);
 			}
@@ -339,7 +309,7 @@ public class JsonWriter {
 						compression.objectNext(out);
 					else
 						needSep = true;
-					out.append(Long.toString(b));
+					writeLong(b, out);
 				}
 				compression.arrayStop(out);
 			}
@@ -354,7 +324,7 @@ public class JsonWriter {
 						compression.objectNext(out);
 					else
 						needSep = true;
-					out.append(Float.toString(b));
+					writeFloat(b, out);
 				}
 				compression.arrayStop(out);
 			}
@@ -369,7 +339,7 @@ public class JsonWriter {
 						compression.objectNext(out);
 					else
 						needSep = true;
-					out.append(Double.toString(b));
+					writeDouble(b, out);
 				}
 				compression.arrayStop(out);
 			}
@@ -397,6 +367,22 @@ public class JsonWriter {
 		addInterfaceWriterLast(Map.class, JsonWriter.JSONMapWriter);
 		addInterfaceWriterLast(Iterable.class, JsonWriter.JSONIterableWriter);
 		addInterfaceWriterLast(Enum.class, JsonWriter.EnumWriter);
+		registerProviders(JSONUtil.defaultLoader());
+	}
+
+	/**
+	 * Register the writers of the JsonWriterProvider services listed in
+	 * META-INF/services/net.minidev.json.reader.JsonWriterProvider resources
+	 * visible from loader. Called by the constructor with the context
+	 * ClassLoader of the creating thread, or the json-smart ClassLoader if
+	 * there is none, call it for providers only visible from other loaders.
+	 * Providers failing to load are logged and skipped.
+	 * 
+	 * @since 1.3.2
+	 */
+	public void registerProviders(ClassLoader loader) {
+		for (JsonWriterProvider provider : JSONUtil.loadServices(JsonWriterProvider.class, loader))
+			provider.registerWriters(this);
 	}
 
 	public void addInterfaceWriterFirst(Class<?> cls, JsonWriterI<?> writer) {
@@ -412,19 +398,43 @@ public class JsonWriter {
 			data.put(c, writer);
 	}
 
+	/**
+	 * Write an integer, without building a String when out is a JsonOutput
+	 */
+	public static void writeLong(long value, Appendable out) throws IOException {
+		if (out instanceof JsonOutput)
+			((JsonOutput) out).writeLong(value);
+		else
+			out.append(Long.toString(value));
+	}
+
+	/**
+	 * Write a double like Double.toString, without building a String when out
+	 * is a JsonOutput
+	 */
+	public static void writeDouble(double value, Appendable out) throws IOException {
+		if (out instanceof JsonOutput)
+			((JsonOutput) out).writeDouble(value);
+		else
+			out.append(Double.toString(value));
+	}
+
+	/**
+	 * Write a float like Float.toString, without building a String when out
+	 * is a JsonOutput
+	 */
+	public static void writeFloat(float value, Appendable out) throws IOException {
+		if (out instanceof JsonOutput)
+			((JsonOutput) out).writeFloat(value);
+		else
+			out.append(Float.toString(value));
+	}
+
 	/**
 	 * Write a Key : value entry to a stream
 	 */
 	public static void writeJSONKV(String key, Object value, Appendable out, JSONStyle compression) throws IOException {
-		if (key == null)
-			out.append("null");
-		else if (!compression.mustProtectKey(key))
-			out.append(key);
-		else {
-			out.append('"');
-			JSONValue.escape(key, out, compression);
-			out.append('"');
-		}
+		compression.writeKey(out, key);
 		compression.objectEndOfKey(out);
 		if (value instanceof String) {
 			compression.writeString(out, (String) value);
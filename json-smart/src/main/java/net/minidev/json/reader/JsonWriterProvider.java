@@ -0,0 +1,22 @@
+package net.minidev.json.reader;
+
+/**
+ * Service registering writers in new JsonWriter instances. Implementations
+ * are listed in META-INF/services/net.minidev.json.reader.JsonWriterProvider
+ * resources, like the writers generated for {@link net.minidev.json.JsonSmart}
+ * classes.
+ * 
+ * New JsonWriter instances, like JSONValue.defaultWriter, load the providers
+ * seen from the context ClassLoader of the thread creating them, see
+ * {@link JsonWriter#registerProviders(ClassLoader)} for other loaders.
+ * 
+ * @since 1.3.2
+ * 
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public interface JsonWriterProvider {
+	/**
+	 * register writers using {@link JsonWriter#registerWriter}
+	 */
+	public void registerWriters(JsonWriter writer);
+}
@@ -0,0 +1,255 @@
+package net.minidev.json.reader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONAware;
+import net.minidev.json.JSONFrozenArray;
+import net.minidev.json.JSONFrozenObject;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONOrderedObject;
+import net.minidev.json.JSONStreamAware;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+
+/**
+ * Serialize large Collections, arrays and Maps on several threads. The
+ * entries are split into ranges, each range is serialized by the executor in
+ * its own buffer, and the buffers are appended in order to the output, as soon
+ * as they are ready. The text is the same as JSONValue.writeJSONString.
+ *
+ * Only the top level container is split. Values smaller than the threshold,
+ * other types, JSONAware or JSONStreamAware classes outside of this library,
+ * and styles keeping a state while writing (any JSONStyle subclass, like
+ * JSONStyleIdent) are written sequentially by the calling thread.
+ *
+ * Ranges are written in order by the calling thread too: it runs each range
+ * not yet started by the executor, and only waits for ranges already running.
+ * So a saturated or rejecting executor, or one whose own threads use this
+ * writer, can not block the writing.
+ *
+ * Values must not be modified while they are written. Instances are
+ * thread-safe, the executor is not shut down.
+ *
+ * @since 1.3.2
+ *
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public class ParallelWriter {
+	private final ExecutorService executor;
+	/**
+	 * min number of entries to write in parallel
+	 */
+	private final int threshold;
+	/**
+	 * max number of ranges
+	 */
+	private final int nbRanges;
+
+	public ParallelWriter(ExecutorService executor) {
+		this(executor, 10000, Runtime.getRuntime().availableProcessors() * 4);
+	}
+
+	/**
+	 * @param executor
+	 *            runs the range serializations
+	 * @param threshold
+	 *            min number of entries to write in parallel
+	 * @param nbRanges
+	 *            max number of ranges a container is split in
+	 */
+	public ParallelWriter(ExecutorService executor, int threshold, int nbRanges) {
+		this.executor = executor;
+		this.threshold = Math.max(threshold, 2);
+		this.nbRanges = Math.max(nbRanges, 1);
+	}
+
+	public String toJSONString(Object value, JSONStyle compression) throws IOException {
+		JsonOutput out = new JsonOutput();
+		writeJSONString(value, out, compression);
+		return out.toString();
+	}
+
+	public void writeJSONString(Object value, Appendable out, JSONStyle compression) throws IOException {
+		if (!(out instanceof JsonOutput)) {
+			JsonOutput o = new JsonOutput(out);
+			writeJSONString(value, o, compression);
+			o.flush();
+			return;
+		}
+		if (compression.getClass() != JSONStyle.class || !write(value, (JsonOutput) out, compression))
+			JSONValue.writeJSONString(value, out, compression);
+	}
+
+	/**
+	 * @return false if value must be written sequentially
+	 */
+	private boolean write(Object value, JsonOutput out, JSONStyle compression) throws IOException {
+		if (!splittable(value))
+			return false;
+		if (value instanceof Map<?, ?>) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			if (map.size() < threshold)
+				return false;
+			Object[] entries = map.entrySet().toArray();
+			compression.objectStart(out);
+			writeRanges(entries, false, out, compression);
+			compression.objectStop(out);
+			return true;
+		}
+		Object[] items;
+		if (value instanceof Collection<?>) {
+			Collection<?> c = (Collection<?>) value;
+			if (c.size() < threshold)
+				return false;
+			items = c.toArray();
+		} else if (value instanceof Object[]) {
+			items = (Object[]) value;
+			if (items.length < threshold)
+				return false;
+		} else
+			return false;
+		compression.arrayStart(out);
+		writeRanges(items, true, out, compression);
+		compression.arrayStop(out);
+		return true;
+	}
+
+	/**
+	 * custom JSONAware and JSONStreamAware classes may define their own text
+	 */
+	private static boolean splittable(Object value) {
+		if (!(value instanceof JSONAware) && !(value instanceof JSONStreamAware))
+			return true;
+		Class<?> c = value.getClass();
+		return c == JSONArray.class || c == JSONObject.class || c == JSONOrderedObject.class
+				|| c == JSONFrozenArray.class || c == JSONFrozenObject.class;
+	}
+
+	private void writeRanges(Object[] data, boolean array, JsonOutput out, JSONStyle compression)
+			throws IOException {
+		int step = (data.length + nbRanges - 1) / nbRanges;
+		List<FutureTask<Range>> tasks = new ArrayList<FutureTask<Range>>();
+		try {
+			for (int from = 0; from < data.length; from += step) {
+				FutureTask<Range> task = new FutureTask<Range>(new Range(data, from, Math.min(from + step,
+						data.length), array, compression));
+				tasks.add(task);
+				try {
+					executor.execute(task);
+				} catch (RejectedExecutionException e) {
+					// run by the calling thread
+				}
+			}
+			boolean first = true;
+			for (FutureTask<Range> task : tasks) {
+				// no-op if the executor already started it
+				task.run();
+				Range r = task.get();
+				if (r.empty)
+					continue;
+				if (array) {
+					if (first)
+						compression.arrayfirstObject(out);
+					else
+						compression.arrayNextElm(out);
+				} else {
+					if (first)
+						compression.objectFirstStart(out);
+					else
+						compression.objectNext(out);
+				}
+				first = false;
+				out.write(r.text);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while writing JSON");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new RuntimeException(cause);
+		} finally {
+			for (FutureTask<Range> task : tasks)
+				task.cancel(false);
+		}
+	}
+
+	/**
+	 * serialize one range of entries, without separator before the first
+	 * written one
+	 */
+	private static class Range implements Callable<Range> {
+		private final Object[] data;
+		private final int from;
+		private final int to;
+		private final boolean array;
+		private final JSONStyle compression;
+		String text;
+		boolean empty = true;
+
+		Range(Object[] data, int from, int to, boolean array, JSONStyle compression) {
+			this.data = data;
+			this.from = from;
+			this.to = to;
+			this.array = array;
+			this.compression = compression;
+		}
+
+		// @Override JDK 1.5 compatibility change
+		public Range call() throws IOException {
+			JsonOutput out = new JsonOutput();
+			if (array)
+				writeItems(out);
+			else
+				writeEntries(out);
+			text = out.toString();
+			return this;
+		}
+
+		private void writeItems(JsonOutput out) throws IOException {
+			for (int i = from; i < to; i++) {
+				if (empty)
+					empty = false;
+				else
+					compression.arrayNextElm(out);
+				Object value = data[i];
+				if (value == null)
+					out.write("null");
+				else
+					JSONValue.writeJSONString(value, out, compression);
+				compression.arrayObjectEnd(out);
+			}
+		}
+
+		private void writeEntries(JsonOutput out) throws IOException {
+			for (int i = from; i < to; i++) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) data[i];
+				Object k = entry.getKey();
+				Object v = entry.getValue();
+				if (v == null && compression.ignoreNull())
+					continue;
+				if (empty)
+					empty = false;
+				else
+					compression.objectNext(out);
+				JsonWriter.writeJSONKV(k == null ? null : k.toString(), v, out, compression);
+			}
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package net.minidev.json.reader;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Appendable encoding chars directly as UTF-8 bytes in a byte buffer, used to
+ * serialize to an OutputStream without building an intermediate String.
+ * ASCII chars are stored with a single range check.
+ * 
+ * Built with an OutputStream, the buffer is written to the stream each time
+ * it is full, and by {@link #flush()}. Built without, the buffer grows and
+ * {@link #toByteArray()} returns the encoded text.
+ * 
+ * Unpaired surrogates are encoded as '?', like String.getBytes does.
+ * 
+ * @since 1.3.2
+ * 
+ * @author Uriel Chemouni <uchemouni@gmail.com>
+ */
+public final class Utf8Writer implements Appendable, Flushable {
+	private final OutputStream out;
+	private byte[] buf;
+	private int pos;
+	/**
+	 * high surrogate waiting for its low surrogate, or 0
+	 */
+	private char high;
+
+	/**
+	 * growing buffer, read with toByteArray()
+	 */
+	public Utf8Writer() {
+		this.out = null;
+		this.buf = new byte[256];
+	}
+
+	public Utf8Writer(OutputStream out) {
+		this(out, 8192);
+	}
+
+	public Utf8Writer(OutputStream out, int bufferSize) {
+		this.out = out;
+		this.buf = new byte[Math.max(bufferSize, 4)];
+	}
+
+	/**
+	 * make room for n bytes
+	 */
+	private void require(int n) throws IOException {
+		if (pos + n <= buf.length)
+			return;
+		if (out != null) {
+			out.write(buf, 0, pos);
+			pos = 0;
+			if (n <= buf.length)
+				return;
+		}
+		byte[] b2 = new byte[Math.max(buf.length * 2, pos + n)];
+		System.arraycopy(buf, 0, b2, 0, pos);
+		buf = b2;
+	}
+
+	public Utf8Writer append(char c) throws IOException {
+		if (c < 0x80 && high == 0) {
+			if (pos == buf.length)
+				require(1);
+			buf[pos++] = (byte) c;
+			return this;
+		}
+		encode(c);
+		return this;
+	}
+
+	public Utf8Writer append(CharSequence csq) throws IOException {
+		if (csq == null)
+			return write("null", 0, 4);
+		return append(csq, 0, csq.length());
+	}
+
+	public Utf8Writer append(CharSequence csq, int start, int end) throws IOException {
+		if (csq == null)
+			csq = "null";
+		if (csq instanceof String)
+			return write((String) csq, start, end);
+		for (int i = start; i < end; i++)
+			append(csq.charAt(i));
+		return this;
+	}
+
+	/**
+	 * bulk copy of the ASCII runs of a String
+	 */
+	public Utf8Writer write(String s, int start, int end) throws IOException {
+		int i = start;
+		while (i < end) {
+			if (high != 0) {
+				encode(s.charAt(i++));
+				continue;
+			}
+			require(Math.min(end - i, buf.length));
+			byte[] b = buf;
+			int p = pos;
+			int lim = Math.min(end, i + b.length - p);
+			char c;
+			while (i < lim && (c = s.charAt(i)) < 0x80) {
+				b[p++] = (byte) c;
+				i++;
+			}
+			pos = p;
+			if (i < lim)
+				encode(s.charAt(i++));
+		}
+		return this;
+	}
+
+	/**
+	 * bulk copy of the ASCII runs of a char array
+	 */
+	public Utf8Writer write(char[] s, int start, int end) throws IOException {
+		int i = start;
+		while (i < end) {
+			if (high != 0) {
+				encode(s[i++]);
+				continue;
+			}
+			require(Math.min(end - i, buf.length));
+			byte[] b = buf;
+			int p = pos;
+			int lim = Math.min(end, i + b.length - p);
+			char c;
+			while (i < lim && (c = s[i]) < 0x80) {
+				b[p++] = (byte) c;
+				i++;
+			}
+			pos = p;
+			if (i < lim)
+				encode(s[i++]);
+		}
+		return this;
+	}
+
+	private void encode(char c) throws IOException {
+		if (high != 0) {
+			char h = high;
+			high = 0;
+			if (Character.isLowSurrogate(c)) {
+				int cp = Character.toCodePoint(h, c);
+				require(4);
+				buf[pos++] = (byte) (0xF0 | (cp >> 18));
+				buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+				return;
+			}
+			append('?');
+			append(c);
+			return;
+		}
+		if (c < 0x80) {
+			require(1);
+			buf[pos++] = (byte) c;
+		} else if (c < 0x800) {
+			require(2);
+			buf[pos++] = (byte) (0xC0 | (c >> 6));
+			buf[pos++] = (byte) (0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c)) {
+			high = c;
+		} else if (Character.isLowSurrogate(c)) {
+			append('?');
+		} else {
+			require(3);
+			buf[pos++] = (byte) (0xE0 | (c >> 12));
+			buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			buf[pos++] = (byte) (0x80 | (c & 0x3F));
+		}
+	}
+
+	/**
+	 * encode a pending unpaired high surrogate
+	 */
+	private void endText() throws IOException {
+		if (high != 0) {
+			high = 0;
+			append('?');
+		}
+	}
+
+	/**
+	 * write buffered bytes to the OutputStream and flush it
+	 */
+	public void flush() throws IOException {
+		endText();
+		if (out == null)
+			return;
+		if (pos > 0) {
+			out.write(buf, 0, pos);
+			pos = 0;
+		}
+		out.flush();
+	}
+
+	/**
+	 * @return encoded bytes, for a Utf8Writer built without OutputStream
+	 */
+	public byte[] toByteArray() throws IOException {
+		endText();
+		byte[] r = new byte[pos];
+		System.arraycopy(buf, 0, r, 0, pos);
+		return r;
+	}
+}
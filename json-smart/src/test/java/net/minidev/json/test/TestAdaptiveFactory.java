@@ -0,0 +1,50 @@
+package net.minidev.json.test;
+
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.AdaptiveContainerFactory;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParsePath;
+
+public class TestAdaptiveFactory extends TestCase {
+	String s = "{\"a\":[1,2,3,4,5,6,7,8,9,10],\"b\":[{\"x\":1,\"y\":2},{\"x\":1,\"y\":2,\"z\":3}]}";
+
+	public void testLearn() throws Exception {
+		final float[] expected = new float[3];
+		AdaptiveContainerFactory f = new AdaptiveContainerFactory(0.5f, true, 100) {
+			public List<Object> createArrayContainer(ParsePath path) {
+				if (path.matches("$.a"))
+					expected[0] = getExpectedSize(path);
+				return super.createArrayContainer(path);
+			}
+
+			public Map<String, Object> createObjectContainer(ParsePath path) {
+				if (path.matches("$.b[1]"))
+					expected[1] = getExpectedSize(path);
+				if (path.matches("$"))
+					expected[2] = getExpectedSize(path);
+				return super.createObjectContainer(path);
+			}
+		};
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		Object o1 = p.parse(s, f);
+		assertEquals(-1f, expected[0]);
+		// [*] share statistics
+		assertEquals(2f, expected[1]);
+		Object o2 = p.parse(s, f);
+		assertEquals(10f, expected[0]);
+		assertEquals(2.25f, expected[1]);
+		assertEquals(2f, expected[2]);
+		assertEquals(JSONValue.parse(s), o1);
+		assertEquals(o1, o2);
+	}
+
+	public void testBounded() throws Exception {
+		AdaptiveContainerFactory f = new AdaptiveContainerFactory(0.5f, false, 1);
+		Object o = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(s, f);
+		assertEquals(JSONValue.parse(s), o);
+	}
+}
@@ -0,0 +1,146 @@
+package net.minidev.json.test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.ParseException;
+
+public class TestBinding extends TestCase {
+	public enum Color {
+		RED, GREEN
+	}
+
+	public static class Item {
+		public String name;
+		public int qty;
+		public BigDecimal price;
+	}
+
+	public static class Order {
+		public long id;
+		public boolean paid;
+		public Color color;
+		public List<Item> items;
+		public Map<String, Integer> counts;
+		public double[] values;
+		public Set<String> tags;
+		public Object extra;
+		private String note;
+		private transient String skipped;
+
+		public String getNote() {
+			return note;
+		}
+
+		public void setNote(String note) {
+			this.note = "set:" + note;
+		}
+	}
+
+	public static class Numbers {
+		public int n;
+		public byte b;
+		public long l;
+		public boolean flag;
+		public BigInteger big;
+		public Map<Integer, String> names;
+		public Map<Color, Long> byColor;
+	}
+
+	public void testBean() throws Exception {
+		String s = "{id:12,paid:true,color:'GREEN',note:n,unknown:{a:[1,{b:2}]},"
+				+ "items:[{name:a,qty:2,price:1.5},{name:b,qty:'3'}],counts:{x:1,y:2},"
+				+ "values:[1,2.5],tags:[t,u,t],extra:{k:[1]},skipped:x}";
+		Order o = JSONValue.parse(s, Order.class);
+		assertEquals(12, o.id);
+		assertTrue(o.paid);
+		assertEquals(Color.GREEN, o.color);
+		assertEquals("set:n", o.getNote());
+		assertNull(o.skipped);
+		assertEquals(2, o.items.size());
+		assertEquals("a", o.items.get(0).name);
+		assertEquals(2, o.items.get(0).qty);
+		assertEquals(new BigDecimal("1.5"), o.items.get(0).price);
+		assertEquals(3, o.items.get(1).qty);
+		assertEquals(Integer.valueOf(2), o.counts.get("y"));
+		assertEquals(2.5, o.values[1]);
+		assertEquals(2, o.tags.size());
+		assertTrue(o.extra instanceof JSONObject);
+		assertTrue(((JSONObject) o.extra).get("k") instanceof JSONArray);
+	}
+
+	public void testRoundTrip() throws Exception {
+		Item i = new Item();
+		i.name = "x";
+		i.qty = 4;
+		Item i2 = JSONValue.parse(JSONValue.toJSONString(i), Item.class);
+		assertEquals("x", i2.name);
+		assertEquals(4, i2.qty);
+		assertNull(i2.price);
+	}
+
+	public void testRoot() throws Exception {
+		assertEquals(Integer.valueOf(5), JSONValue.parse("5", Integer.class));
+		assertEquals("a", JSONValue.parse("\"a\"", String.class));
+		int[] a = JSONValue.parse("[1,2,3]", int[].class);
+		assertEquals(3, a[2]);
+		Item[] items = JSONValue.parse("[{qty:1},null]".getBytes(), Item[].class);
+		assertEquals(1, items[0].qty);
+		assertNull(items[1]);
+		assertTrue(JSONValue.parse("{a:1}", Object.class) instanceof JSONObject);
+	}
+
+	public void testErrors() throws Exception {
+		assertNull(JSONValue.parse("{qty:'x'}", Item.class));
+		try {
+			JSONValue.parseWithException("{qty:[1]}", Item.class);
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_EXCEPTION, e.getErrorType());
+		}
+		try {
+			JSONValue.parseWithException("[1]", Item.class);
+			fail();
+		} catch (ParseException e) {
+		}
+		try {
+			JSONValue.parseWithException("{}", Runnable.class);
+			fail();
+		} catch (ParseException e) {
+		}
+	}
+
+	public void testNarrowing() throws Exception {
+		Numbers n = JSONValue.parseWithException("{n:2.0,b:-128,l:1e3,flag:'true',big:12345678901234567890}",
+				Numbers.class);
+		assertEquals(2, n.n);
+		assertEquals(-128, n.b);
+		assertEquals(1000, n.l);
+		assertTrue(n.flag);
+		assertEquals(new BigInteger("12345678901234567890"), n.big);
+		String[] invalid = { "{n:3000000000}", "{n:1.9}", "{b:128}", "{l:9223372036854775808}", "{flag:'yes'}",
+				"{flag:1}", "{big:1.5}", "{names:{a:x}}" };
+		for (String s : invalid) {
+			try {
+				JSONValue.parseWithException(s, Numbers.class);
+				fail(s);
+			} catch (ParseException e) {
+			}
+		}
+	}
+
+	public void testMapKeys() throws Exception {
+		Numbers n = JSONValue.parseWithException("{names:{'1':a,'20':b},byColor:{RED:5}}", Numbers.class);
+		Integer first = n.names.keySet().iterator().next();
+		assertEquals(Integer.valueOf(1), first);
+		assertEquals("b", n.names.get(20));
+		assertEquals(Long.valueOf(5), n.byColor.get(Color.RED));
+	}
+}
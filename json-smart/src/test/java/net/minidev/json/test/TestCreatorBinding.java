@@ -0,0 +1,138 @@
+package net.minidev.json.test;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.ParseException;
+
+public class TestCreatorBinding extends TestCase {
+	public static class Point {
+		private final int x;
+		private final long y;
+		private final String label;
+
+		public Point(int x, long y, String label) {
+			this.x = x;
+			this.y = y;
+			this.label = label;
+		}
+
+		public int getX() {
+			return x;
+		}
+
+		public long getY() {
+			return y;
+		}
+
+		public String label() {
+			return label;
+		}
+	}
+
+	/**
+	 * two String fields, parameters could match both ways
+	 */
+	public static class Name {
+		public final String first;
+		public final String last;
+
+		public Name(String last, String first) {
+			this.first = first;
+			this.last = last;
+		}
+	}
+
+	/**
+	 * built by its default constructor, final field not written
+	 */
+	public static class Counter {
+		public final int max = 10;
+		public int count;
+	}
+
+	public static class Constant {
+		public final int value;
+
+		public Constant() {
+			value = 1;
+		}
+	}
+
+	public static class Path {
+		public final String name;
+		public final List<Point> points;
+
+		private Path(String name, List<Point> points) {
+			this.name = name;
+			this.points = points;
+		}
+	}
+
+	public static class Money {
+		private final long cents;
+
+		private Money(long cents, boolean checked) {
+			this.cents = cents;
+		}
+
+		public static Money of(long cents) {
+			return new Money(cents, true);
+		}
+
+		public long getCents() {
+			return cents;
+		}
+	}
+
+	public void testConstructor() throws Exception {
+		Point p = JSONValue.parseWithException("{y:2,label:a,x:1,z:3}", Point.class);
+		assertEquals(1, p.getX());
+		assertEquals(2, p.getY());
+		assertEquals("a", p.label());
+		p = JSONValue.parseWithException("{x:5}", Point.class);
+		assertEquals(5, p.getX());
+		assertEquals(0, p.getY());
+		assertNull(p.label());
+	}
+
+	public void testNested() throws Exception {
+		Path path = JSONValue.parseWithException("{name:p,points:[{x:1,y:2},{x:3,y:4,label:b}]}", Path.class);
+		assertEquals("p", path.name);
+		assertEquals(2, path.points.size());
+		assertEquals(4, path.points.get(1).getY());
+		assertEquals("b", path.points.get(1).label());
+	}
+
+	public void testFactory() throws Exception {
+		assertEquals(42, JSONValue.parseWithException("{cents:42}", Money.class).getCents());
+	}
+
+	public void testAmbiguous() throws Exception {
+		try {
+			JSONValue.parseWithException("{first:Ada,last:Lovelace}", Name.class);
+			fail();
+		} catch (ParseException e) {
+		}
+		// not built by a creator, final fields are not written
+		assertEquals("{}", JSONValue.toJSONString(new Name("Lovelace", "Ada")));
+	}
+
+	public void testDefaultConstructor() throws Exception {
+		assertEquals("{\"count\":0}", JSONValue.toJSONString(new Counter()));
+		assertEquals("{}", JSONValue.toJSONString(new Constant()));
+		assertEquals(1, JSONValue.parseWithException("{value:5}", Constant.class).value);
+	}
+
+	public void testRoundTrip() throws Exception {
+		Point p = new Point(7, 8, "c");
+		String s = JSONValue.toJSONString(p);
+		assertEquals("{\"x\":7,\"y\":8,\"label\":\"c\"}", s);
+		Point p2 = JSONValue.parseWithException(s, Point.class);
+		assertEquals(7, p2.getX());
+		assertEquals("c", p2.label());
+		assertEquals("{\"name\":\"p\",\"points\":[]}",
+				JSONValue.toJSONString(JSONValue.parseWithException("{name:p,points:[]}", Path.class)));
+	}
+}
@@ -0,0 +1,58 @@
+package net.minidev.json.test;
+
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONFrozenObject;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.DedupContainerFactory;
+import net.minidev.json.parser.JSONParser;
+
+public class TestDedupFactory extends TestCase {
+	String s = "{\"items\":[{\"qty\":1,\"addr\":{\"city\":\"Paris\",\"zip\":[7,5]}},{\"qty\":2,\"addr\":{\"city\":\"Paris\",\"zip\":[7,5]}},{\"qty\":1,\"addr\":{\"city\":\"Paris\",\"zip\":[7,5]}}]}";
+
+	@SuppressWarnings("unchecked")
+	public void testShared() throws Exception {
+		DedupContainerFactory f = new DedupContainerFactory();
+		Object o = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(s, f);
+		assertEquals(JSONValue.parse(s), o);
+		assertTrue(o instanceof JSONFrozenObject);
+		List<Object> items = (List<Object>) ((Map<String, Object>) o).get("items");
+		Map<String, Object> i0 = (Map<String, Object>) items.get(0);
+		Map<String, Object> i1 = (Map<String, Object>) items.get(1);
+		Map<String, Object> i2 = (Map<String, Object>) items.get(2);
+		assertSame(i0.get("addr"), i1.get("addr"));
+		assertSame(i0, i2);
+		assertNotSame(i0, i1);
+	}
+
+	public void testAcrossParses() throws Exception {
+		DedupContainerFactory f = new DedupContainerFactory(16);
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		Object o1 = p.parse(s, f);
+		Object o2 = p.parse(s, f);
+		assertSame(o1, o2);
+		f.clear();
+		Object o3 = p.parse(s, f);
+		assertNotSame(o1, o3);
+		assertEquals(o1, o3);
+	}
+
+	public void testCollision() throws Exception {
+		// a single slot, every container replaces the previous one
+		DedupContainerFactory f = new DedupContainerFactory(1);
+		Object o = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(s, f);
+		assertEquals(JSONValue.parse(s), o);
+	}
+
+	public void testTypes() throws Exception {
+		// equal hash, different values
+		DedupContainerFactory f = new DedupContainerFactory(1);
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		Object a = p.parse("[1]", f);
+		Object b = p.parse("[1.0]", f);
+		assertEquals("[1]", JSONValue.toJSONString(a));
+		assertEquals("[1.0]", JSONValue.toJSONString(b));
+	}
+}
@@ -0,0 +1,102 @@
+package net.minidev.json.test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONFrozenArray;
+import net.minidev.json.JSONFrozenObject;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+
+public class TestFrozen extends TestCase {
+	public void testFreeze() throws Exception {
+		String s = "{\"a\":{\"b\":[1,2,{\"c\":\"d\"}]},\"e\":true}";
+		JSONObject o = (JSONObject) JSONValue.parse(s);
+		JSONFrozenObject f = o.freeze();
+		assertEquals(o, f);
+		assertEquals(o.hashCode(), f.hashCode());
+		assertEquals(o.toJSONString(), JSONValue.toJSONString(f));
+		assertTrue(f.get("a") instanceof JSONFrozenObject);
+		Object b = ((Map<?, ?>) f.get("a")).get("b");
+		assertTrue(b instanceof JSONFrozenArray);
+		assertTrue(((JSONFrozenArray) b).get(2) instanceof JSONFrozenObject);
+	}
+
+	public void testImmutable() throws Exception {
+		JSONFrozenObject f = ((JSONObject) JSONValue.parse("{a:1,b:[1]}")).freeze();
+		try {
+			f.put("c", 1);
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			f.keySet().remove("a");
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			f.entrySet().iterator().next().setValue(3);
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			((JSONFrozenArray) f.get("b")).add(2);
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+	}
+
+	public void testWith() throws Exception {
+		JSONFrozenObject f = ((JSONObject) JSONValue.parse("{a:{x:1},b:2}")).freeze();
+		JSONFrozenObject f2 = f.with("b", 3);
+		assertEquals(2, f.get("b"));
+		assertEquals(3, f2.get("b"));
+		assertSame(f.get("a"), f2.get("a"));
+		JSONFrozenObject f3 = f.with("c", new JSONArray());
+		assertEquals(3, f3.size());
+		assertTrue(f3.get("c") instanceof JSONFrozenArray);
+		assertSame(f.get("a"), f3.get("a"));
+	}
+
+	public void testLargeObject() throws Exception {
+		JSONObject o = new JSONObject();
+		for (int i = 0; i < 100; i++)
+			o.put("k" + i, i);
+		JSONFrozenObject f = o.freeze();
+		for (int i = 0; i < 100; i++)
+			assertEquals(i, f.get("k" + i));
+		assertNull(f.get("k100"));
+		assertEquals(100, f.with("k100", 100).get("k100"));
+	}
+
+	public void testArrays() throws Exception {
+		JSONObject o = new JSONObject();
+		o.put("a", new Object[] { "x", new int[] { 1, 2 } });
+		o.put("b", new double[] { 1.5 });
+		String text = o.toJSONString();
+		JSONFrozenObject f = o.freeze();
+		assertEquals(text, f.toJSONString());
+		JSONFrozenArray a = (JSONFrozenArray) f.get("a");
+		assertTrue(a.get(1) instanceof JSONFrozenArray);
+		assertEquals(2, ((JSONFrozenArray) a.get(1)).get(1));
+		assertEquals(1.5, ((JSONFrozenArray) f.get("b")).get(0));
+		// the source arrays are not shared
+		((Object[]) o.get("a"))[0] = "y";
+		assertEquals("x", a.get(0));
+	}
+
+	public void testKeyCollision() throws Exception {
+		Map<Object, Object> m = new HashMap<Object, Object>();
+		m.put(1, "int");
+		m.put("1", "String");
+		try {
+			JSONValue.freeze(m);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+		m.remove("1");
+		assertEquals("int", ((JSONFrozenObject) JSONValue.freeze(m)).get("1"));
+	}
+}
@@ -0,0 +1,107 @@
+package net.minidev.json.test;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONLazyString;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+public class TestLazyString extends TestCase {
+	private static Object parse(String s) throws ParseException {
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		p.setLazyString(true);
+		return p.parse(s);
+	}
+
+	public void testLazyValue() throws Exception {
+		JSONObject o = (JSONObject) parse("{\"k\":\"value\"}");
+		Object v = o.get("k");
+		assertTrue(v instanceof JSONLazyString);
+		JSONLazyString l = (JSONLazyString) v;
+		assertFalse(l.isDecoded());
+		assertEquals(5, l.length());
+		assertEquals("value", l.toString());
+		assertTrue(l.isDecoded());
+		// keys stay String
+		assertEquals("k", o.keySet().iterator().next());
+	}
+
+	public void testEscaped() throws Exception {
+		JSONArray a = (JSONArray) parse("[\"a\\\"b\\u0041\\n\\/\", 'c\\'d']");
+		JSONLazyString l = (JSONLazyString) a.get(0);
+		assertTrue(l.isEscaped());
+		assertEquals("a\"bA\n/", l.toString());
+		assertEquals('A', l.charAt(3));
+		assertEquals("c'd", a.get(1).toString());
+	}
+
+	public void testWriteBack() throws Exception {
+		String s = "{\"a\":\"simple text\",\"b\":\"a/b\",\"c\":\"q\\\"q\"}";
+		Object o = parse(s);
+		assertEquals(JSONValue.toJSONString(JSONValue.parse(s), JSONStyle.NO_COMPRESS),
+				JSONValue.toJSONString(o, JSONStyle.NO_COMPRESS));
+		assertEquals(JSONValue.toJSONString(JSONValue.parse(s), JSONStyle.MAX_COMPRESS),
+				JSONValue.toJSONString(o, JSONStyle.MAX_COMPRESS));
+		assertEquals(JSONValue.toJSONString(JSONValue.parse(s), JSONStyle.LT_COMPRESS),
+				JSONValue.toJSONString(o, JSONStyle.LT_COMPRESS));
+	}
+
+	public void testInvalid() throws Exception {
+		try {
+			parse("[\"ab\\u00G0\"]");
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_UNICODE, e.getErrorType());
+		}
+		try {
+			parse("[\"ab\\\"]");
+			fail();
+		} catch (ParseException e) {
+			assertEquals(ParseException.ERROR_UNEXPECTED_EOF, e.getErrorType());
+		}
+	}
+
+	public void testControlChars() throws Exception {
+		int mode = JSONParser.MODE_PERMISSIVE | JSONParser.IGNORE_CONTROL_CHAR;
+		for (char c = 0; c < 128; c++) {
+			if (c > 31 && c != 127)
+				continue;
+			String[] texts = { "[\"a" + c + "b\"]", "[\"a" + c + "b\\n\"]" };
+			for (String text : texts) {
+				JSONParser p = new JSONParser(mode);
+				Object eager;
+				try {
+					eager = p.parse(text);
+				} catch (ParseException e) {
+					eager = e.getErrorType();
+				}
+				p.setLazyString(true);
+				Object lazy;
+				try {
+					lazy = ((JSONArray) p.parse(text)).get(0).toString();
+				} catch (ParseException e) {
+					lazy = e.getErrorType();
+				}
+				if (eager instanceof JSONArray)
+					eager = ((JSONArray) eager).get(0);
+				assertEquals("char " + (int) c, eager, lazy);
+			}
+		}
+		// SUB is kept, as in readString2
+		assertEquals("a\u001ab\n", new JSONLazyString("a\u001ab\\n", 0, 5, true).toString());
+		assertEquals("ab\n", new JSONLazyString("a\u001fb\\n", 0, 5, true).toString());
+	}
+
+	public void testEquals() throws Exception {
+		JSONArray a = (JSONArray) parse("[\"ab\",\"a\\u0062\"]");
+		assertEquals(a.get(0), a.get(1));
+		assertEquals(a.get(0).hashCode(), a.get(1).hashCode());
+		// never equal to a String, both ways
+		assertFalse(a.get(0).equals("ab"));
+		assertFalse("ab".equals(a.get(0)));
+		assertEquals("ab", a.get(1).toString());
+	}
+}
@@ -0,0 +1,59 @@
+package net.minidev.json.test;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONOrderedObject;
+import net.minidev.json.JSONValue;
+
+public class TestOrderedObject extends TestCase {
+	public void testParseKeepingOrder() throws Exception {
+		String s = "{\"z\":1,\"a\":2,\"m\":{\"y\":3,\"b\":4}}";
+		Object o = JSONValue.parseKeepingOrder(s);
+		assertTrue(o instanceof JSONOrderedObject);
+		assertEquals(s, JSONValue.toJSONString(o));
+	}
+
+	public void testMapContract() throws Exception {
+		JSONOrderedObject o = new JSONOrderedObject();
+		LinkedHashMap<String, Object> ref = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < 100; i++) {
+			o.put("k" + i, i);
+			ref.put("k" + i, i);
+		}
+		for (int i = 0; i < 100; i += 3) {
+			assertEquals(ref.remove("k" + i), o.remove("k" + i));
+		}
+		for (int i = 0; i < 50; i++) {
+			o.put("n" + i, i);
+			ref.put("n" + i, i);
+		}
+		o.put("k1", "x");
+		ref.put("k1", "x");
+		assertEquals(ref, o);
+		assertEquals(ref.hashCode(), o.hashCode());
+		assertEquals(ref.keySet().toString(), o.keySet().toString());
+		assertNull(o.get("k0"));
+		assertFalse(o.containsKey("k3"));
+		assertEquals("x", o.get("k1"));
+	}
+
+	public void testIteratorRemove() throws Exception {
+		JSONOrderedObject o = new JSONOrderedObject();
+		o.put("a", 1);
+		o.put("b", 2);
+		o.put("c", 3);
+		Iterator<Map.Entry<String, Object>> it = o.entrySet().iterator();
+		it.next();
+		it.remove();
+		Map.Entry<String, Object> e = it.next();
+		e.setValue(20);
+		assertEquals("{\"b\":20,\"c\":3}", o.toJSONString());
+		o.clear();
+		assertTrue(o.isEmpty());
+		o.put("d", 4);
+		assertEquals("{\"d\":4}", o.toJSONString());
+	}
+}
@@ -0,0 +1,78 @@
+package net.minidev.json.test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONOrderedObject;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParsePath;
+import net.minidev.json.parser.PathContainerFactory;
+
+public class TestPathFactory extends TestCase {
+	static class Factory implements PathContainerFactory {
+		List<String> seen = new ArrayList<String>();
+
+		public Map<String, Object> createObjectContainer() {
+			return new JSONObject();
+		}
+
+		public List<Object> createArrayContainer() {
+			return new JSONArray();
+		}
+
+		public Map<String, Object> createObjectContainer(ParsePath path) {
+			seen.add(path.toString());
+			if (path.matches("$.meta") || path.matches("$.items[*]"))
+				return new JSONOrderedObject();
+			return new JSONObject();
+		}
+
+		public List<Object> createArrayContainer(ParsePath path) {
+			seen.add(path.toString());
+			if (path.matches("$.points"))
+				return new LinkedList<Object>();
+			return new JSONArray();
+		}
+	}
+
+	public void testPath() throws Exception {
+		Factory f = new Factory();
+		String s = "{\"meta\":{\"a\":1},\"points\":[1,2],\"items\":[{\"x\":{}},{\"y\":[[]]}],\"o\":{}}";
+		Map<?, ?> o = (Map<?, ?>) new JSONParser(JSONParser.MODE_PERMISSIVE).parse(s, f);
+		assertTrue(o instanceof JSONObject);
+		assertTrue(o.get("meta") instanceof JSONOrderedObject);
+		assertTrue(o.get("points") instanceof LinkedList);
+		List<?> items = (List<?>) o.get("items");
+		assertTrue(items instanceof JSONArray);
+		assertTrue(items.get(0) instanceof JSONOrderedObject);
+		assertTrue(items.get(1) instanceof JSONOrderedObject);
+		assertTrue(((Map<?, ?>) items.get(0)).get("x") instanceof JSONObject);
+		assertTrue(o.get("o") instanceof JSONObject);
+		assertTrue(f.seen.contains("$"));
+		assertTrue(f.seen.contains("$.items[1].y[0]"));
+	}
+
+	public void testMatches() throws Exception {
+		Factory f = new Factory() {
+			public List<Object> createArrayContainer(ParsePath path) {
+				if (path.getDepth() == 3) {
+					assertTrue(path.matches("$.a[1][*]"));
+					assertTrue(path.matches("$.a[1][0]"));
+					assertFalse(path.matches("$.a[0][0]"));
+					assertFalse(path.matches("$.a"));
+					assertFalse(path.matches("$.b[1][0]"));
+					assertFalse(path.matches("$.a[1][0].x"));
+					assertEquals("a", path.getKey(1));
+					assertEquals(1, path.getIndex(2));
+				}
+				return super.createArrayContainer(path);
+			}
+		};
+		new JSONParser(JSONParser.MODE_PERMISSIVE).parse("{\"a\":[[],[[]]]}", f);
+	}
+}
@@ -0,0 +1,60 @@
+package net.minidev.json.test;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.PoolingContainerFactory;
+
+public class TestPoolingFactory extends TestCase {
+	public void testReuse() throws Exception {
+		PoolingContainerFactory factory = new PoolingContainerFactory();
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		String s = "{\"a\":[1,{\"b\":2}],\"c\":\"d\"}";
+		JSONObject o1 = (JSONObject) p.parse(s, factory);
+		JSONArray a1 = (JSONArray) o1.get("a");
+		JSONObject b1 = (JSONObject) a1.get(1);
+		factory.release(o1);
+		assertEquals(0, o1.size());
+		assertEquals(0, a1.size());
+
+		JSONObject o2 = (JSONObject) p.parse(s, factory);
+		assertEquals(JSONValue.parse(s), o2);
+		JSONArray a2 = (JSONArray) o2.get("a");
+		assertSame(a1, a2);
+		assertTrue(o2 == o1 || o2 == b1);
+		assertTrue(a2.get(1) == o1 || a2.get(1) == b1);
+	}
+
+	public void testCapacity() throws Exception {
+		PoolingContainerFactory factory = new PoolingContainerFactory(1, 0);
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		JSONArray a = (JSONArray) p.parse("[{},{},[]]", factory);
+		Object o0 = a.get(0);
+		Object o1 = a.get(1);
+		factory.release(a);
+		JSONArray a2 = (JSONArray) p.parse("[{},{}]", factory);
+		assertNotSame(a, a2);
+		assertTrue(a2.get(0) == o0 || a2.get(0) == o1);
+		assertNotSame(a2.get(0), a2.get(1));
+	}
+
+	public void testSharedContainer() throws Exception {
+		PoolingContainerFactory factory = new PoolingContainerFactory();
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		JSONObject root = (JSONObject) p.parse("{\"a\":{}}", factory);
+		JSONArray shared = new JSONArray();
+		root.put("b", shared);
+		root.put("c", shared);
+		root.put("self", root);
+		factory.release(root);
+		// each container is handed out once
+		JSONArray a = (JSONArray) p.parse("[[],[],[]]", factory);
+		assertNotSame(a.get(0), a.get(1));
+		assertNotSame(a.get(1), a.get(2));
+		assertNotSame(a.get(0), a.get(2));
+		JSONArray objects = (JSONArray) p.parse("[{},{}]", factory);
+		assertNotSame(objects.get(0), objects.get(1));
+	}
+}
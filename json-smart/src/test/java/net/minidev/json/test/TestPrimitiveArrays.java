@@ -0,0 +1,121 @@
+package net.minidev.json.test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+public class TestPrimitiveArrays extends TestCase {
+	public static class Sample {
+		public String name;
+		public float[] features;
+		public int[] ids;
+		public long[] times;
+	}
+
+	public void testInt() throws Exception {
+		assertTrue(Arrays.equals(new int[] { 1, -2, 0, 2147483647, -2147483648 },
+				JSONValue.parseIntArray(" [1, -2,0 ,2147483647,-2147483648] ")));
+		assertTrue(Arrays.equals(new int[0], JSONValue.parseIntArray("[]")));
+		assertTrue(Arrays.equals(new int[] { 3, 4 }, JSONValue.parseIntArray("[3,4]".getBytes())));
+	}
+
+	public void testLong() throws Exception {
+		assertTrue(Arrays.equals(new long[] { 12345678901234L, Long.MIN_VALUE, Long.MAX_VALUE },
+				JSONValue.parseLongArray("[12345678901234,-9223372036854775808,9223372036854775807]")));
+	}
+
+	public void testDouble() throws Exception {
+		String[] texts = { "0", "-0.0", "1.5", "0.1", "3.141592653589793", "1e22", "1E-7", "-2.5e+3",
+				"123456789012345678901234567890", "4.9e-324", "1.7976931348623157e308", "0.30000000000000004" };
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < texts.length; i++)
+			sb.append(i == 0 ? "" : ",").append(texts[i]);
+		sb.append("]");
+		double[] values = JSONValue.parseDoubleArray(sb.toString());
+		assertEquals(texts.length, values.length);
+		for (int i = 0; i < texts.length; i++)
+			assertEquals(texts[i], Double.doubleToLongBits(Double.parseDouble(texts[i])),
+					Double.doubleToLongBits(values[i]));
+	}
+
+	public void testDoubleRandom() throws Exception {
+		Random r = new Random(42);
+		double[] expected = new double[10000];
+		for (int i = 0; i < expected.length; i++)
+			expected[i] = (r.nextDouble() - 0.5) * Math.pow(10, r.nextInt(20) - 10);
+		String text = JSONValue.toJSONString(expected);
+		assertTrue(Arrays.equals(expected, JSONValue.parseDoubleArray(text)));
+		assertTrue(Arrays.equals(expected, JSONValue.parseDoubleArray(text.getBytes())));
+	}
+
+	public void testFloat() throws Exception {
+		Random r = new Random(7);
+		float[] expected = new float[10000];
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = (float) r.nextGaussian();
+			sb.append(i == 0 ? "" : ",").append(Float.toString(expected[i]));
+		}
+		sb.append("]");
+		assertTrue(Arrays.equals(expected, JSONValue.parseFloatArray(sb.toString())));
+	}
+
+	public void testFields() throws Exception {
+		String text = "{\"name\":\"a\",\"features\":[0.5,1.25,-3],\"ids\":[7,8],\"times\":[1,null]}";
+		Sample s = JSONValue.parseWithException(text, Sample.class);
+		assertEquals("a", s.name);
+		assertTrue(Arrays.equals(new float[] { 0.5f, 1.25f, -3f }, s.features));
+		assertTrue(Arrays.equals(new int[] { 7, 8 }, s.ids));
+		// null entry, parsed the usual way
+		assertTrue(Arrays.equals(new long[] { 1, 0 }, s.times));
+		// stream parsing does not use the fast path
+		s = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(new StringReader(text), Sample.class);
+		assertTrue(Arrays.equals(new float[] { 0.5f, 1.25f, -3f }, s.features));
+		assertTrue(Arrays.equals(new long[] { 1, 0 }, s.times));
+	}
+
+	public void testErrors() throws Exception {
+		try {
+			JSONValue.parseIntArray("[1,2");
+			fail();
+		} catch (ParseException e) {
+		}
+		try {
+			JSONValue.parseDoubleArray("[1,\"a\"]");
+			fail();
+		} catch (ParseException e) {
+		}
+		try {
+			JSONValue.parseIntArray("{}");
+			fail();
+		} catch (ParseException e) {
+		}
+		// values not fitting the element type
+		String[] ints = { "[2147483648]", "[-2147483649]", "[1.9,2]", "[1e10]" };
+		for (String s : ints) {
+			try {
+				JSONValue.parseIntArray(s);
+				fail(s);
+			} catch (ParseException e) {
+			}
+			try {
+				new JSONParser(JSONParser.MODE_PERMISSIVE).parse(new StringReader(s), int[].class);
+				fail(s);
+			} catch (ParseException e) {
+			}
+		}
+		String[] longs = { "[9223372036854775808]", "[-9223372036854775809]", "[0.5]" };
+		for (String s : longs) {
+			try {
+				JSONValue.parseLongArray(s);
+				fail(s);
+			} catch (ParseException e) {
+			}
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package net.minidev.json.test;
+
+import java.io.StringReader;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+
+public class TestStringCache extends TestCase {
+	String s = "[{\"status\":\"OK\",\"code\":\"FR\"},{\"status\":\"OK\",\"code\":\"a\\tb\"},{\"status\":\"OK\",\"code\":\"a\\tb\"}]";
+
+	private void check(JSONArray a) {
+		JSONObject o0 = (JSONObject) a.get(0);
+		JSONObject o1 = (JSONObject) a.get(1);
+		JSONObject o2 = (JSONObject) a.get(2);
+		assertEquals("OK", o0.get("status"));
+		assertSame(o0.get("status"), o1.get("status"));
+		assertSame(o1.get("code"), o2.get("code"));
+		assertEquals("a\tb", o1.get("code"));
+	}
+
+	public void testString() throws Exception {
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		p.setStringCache(64, 16);
+		check((JSONArray) p.parse(s));
+		// kept between calls
+		JSONArray a1 = (JSONArray) p.parse(s);
+		JSONArray a2 = (JSONArray) p.parse(s);
+		assertSame(((JSONObject) a1.get(0)).get("code"), ((JSONObject) a2.get(0)).get("code"));
+	}
+
+	public void testBytes() throws Exception {
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		p.setStringCache(64, 16);
+		check((JSONArray) p.parse(s.getBytes()));
+	}
+
+	public void testReader() throws Exception {
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		p.setStringCache(64, 16);
+		check((JSONArray) p.parse(new StringReader(s)));
+	}
+
+	public void testMaxLength() throws Exception {
+		JSONParser p = new JSONParser(JSONParser.MODE_PERMISSIVE);
+		p.setStringCache(64, 2);
+		JSONArray a = (JSONArray) p.parse("[\"long value\",\"long value\"]");
+		assertEquals(a.get(0), a.get(1));
+		assertNotSame(a.get(0), a.get(1));
+	}
+
+	public void testRejected() throws Exception {
+		JSONParser p = new JSONParser(JSONParser.MODE_RFC4627);
+		// two slots, some of the rejected values would evict "OK"
+		p.setStringCache(2, 16);
+		Object ok = ((JSONArray) p.parse("[\"OK\"]")).get(0);
+		for (char c = 'a'; c <= 'h'; c++) {
+			String bad = "[\"" + c + "\u0001\"]";
+			try {
+				p.parse(bad);
+				fail();
+			} catch (ParseException e) {
+			}
+			try {
+				p.parse(bad.getBytes());
+				fail();
+			} catch (ParseException e) {
+			}
+		}
+		assertSame(ok, ((JSONArray) p.parse("[\"OK\"]")).get(0));
+	}
+}
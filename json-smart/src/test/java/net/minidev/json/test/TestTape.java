@@ -0,0 +1,64 @@
+package net.minidev.json.test;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONTape;
+import net.minidev.json.JSONTapeCursor;
+import net.minidev.json.JSONValue;
+
+public class TestTape extends TestCase {
+	String s = "{\"a\":[1,2.5,12345678901,null,true,false,\"x\\\"y\"],\"b\":{\"c\":{}},\"d\":[],\"big\":123456789012345678901234567890}";
+
+	public void testNavigate() throws Exception {
+		JSONTapeCursor root = JSONTape.parse(s).root();
+		assertTrue(root.isObject());
+		assertEquals(4, root.size());
+		JSONTapeCursor a = root.get("a");
+		assertTrue(a.isArray());
+		assertEquals(7, a.size());
+		assertEquals(1, a.get(0).asLong());
+		assertEquals(2.5, a.get(1).asDouble(), 0.0001);
+		assertEquals(12345678901L, a.get(2).asLong());
+		assertTrue(a.get(3).isNull());
+		assertTrue(a.get(4).asBoolean());
+		assertEquals("x\"y", a.get(6).asString());
+		assertTrue(root.get("b").get("c").isObject());
+		assertEquals(0, root.get("d").size());
+		assertEquals("d", root.keyAt(2));
+		assertNull(root.get("missing"));
+		assertEquals("123456789012345678901234567890", root.get("big").asNumber().toString());
+	}
+
+	public void testWrite() throws Exception {
+		JSONTape tape = JSONTape.parse(s);
+		Object o = JSONValue.parse(s);
+		assertEquals(o, tape.root().toObject());
+		String s1 = JSONValue.toJSONString(o, JSONStyle.MAX_COMPRESS);
+		String s2 = JSONValue.toJSONString(tape.root(), JSONStyle.MAX_COMPRESS);
+		assertEquals(JSONValue.parse(s1), JSONValue.parse(s2));
+		assertEquals("[1,2.5,12345678901,null,true,false,\"x\\\"y\"]", tape.root().get("a").toJSONString());
+	}
+
+	public void testGrow() throws Exception {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 5000; i++)
+			sb.append("{\"key\":\"value").append(i).append("\"},");
+		sb.append("0]");
+		JSONTapeCursor root = JSONTape.parse(sb.toString()).root();
+		assertEquals(5001, root.size());
+		assertEquals("value4999", root.get(4999).get("key").asString());
+	}
+
+	public void testNumbers() throws Exception {
+		String text = "[NaN,1e20,0.1,-2.5E-7,12345678901,3]";
+		JSONTapeCursor root = JSONTape.parse(text).root();
+		assertTrue(Double.isNaN(root.get(0).asDouble()));
+		// same number forms as the JsonOutput writers, NaN has no JSON form
+		String expected = JSONValue.toJSONString(JSONValue.parse(text)).replace("NaN", "null");
+		assertEquals(expected, root.toJSONString());
+		StringBuilder sb = new StringBuilder();
+		root.writeJSONString(sb);
+		assertEquals(expected, sb.toString());
+		assertTrue(expected.startsWith("[null,"));
+	}
+}
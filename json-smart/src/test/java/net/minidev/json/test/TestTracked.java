@@ -0,0 +1,157 @@
+package net.minidev.json.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONStyleIdent;
+import net.minidev.json.JSONTrackedArray;
+import net.minidev.json.JSONTrackedObject;
+import net.minidev.json.JSONValue;
+
+public class TestTracked extends TestCase {
+	private final static String DOC = "{\"a\":{\"b\":[1,{\"c\":\"d\"}],\"e\":2},\"f\":[3,4]}";
+
+	public void testParse() throws Exception {
+		JSONTrackedObject root = (JSONTrackedObject) JSONValue.parseTracked(DOC);
+		assertTrue(root.isDirty());
+		assertEquals(JSONValue.parse(DOC).toString(), root.toJSONString());
+		assertFalse(root.isDirty());
+		JSONTrackedObject a = (JSONTrackedObject) root.get("a");
+		JSONTrackedArray b = (JSONTrackedArray) a.get("b");
+		JSONTrackedObject c = (JSONTrackedObject) b.get(1);
+		JSONTrackedArray f = (JSONTrackedArray) root.get("f");
+		assertFalse(c.isDirty());
+		assertFalse(f.isDirty());
+
+		c.put("c", "x");
+		assertTrue(c.isDirty());
+		assertTrue(b.isDirty());
+		assertTrue(a.isDirty());
+		assertTrue(root.isDirty());
+		assertFalse(f.isDirty());
+		JSONObject copy = (JSONObject) JSONValue.parse(DOC);
+		((JSONObject) ((JSONArray) ((JSONObject) copy.get("a")).get("b")).get(1)).put("c", "x");
+		assertEquals(copy.toJSONString(), root.toJSONString());
+		StringBuilder sb = new StringBuilder();
+		JSONValue.writeJSONString(root, sb);
+		assertEquals(copy.toJSONString(), sb.toString());
+	}
+
+	public void testDetach() throws Exception {
+		JSONTrackedObject root = (JSONTrackedObject) JSONValue.parseTracked(DOC);
+		JSONTrackedArray f = (JSONTrackedArray) root.remove("f");
+		root.toJSONString();
+		f.add(5);
+		assertFalse(root.isDirty());
+
+		JSONTrackedArray shared = new JSONTrackedArray();
+		JSONTrackedArray other = new JSONTrackedArray();
+		root.put("s", shared);
+		other.add(shared);
+		root.toJSONString();
+		other.toJSONString();
+		shared.add("v");
+		assertTrue(root.isDirty());
+		assertTrue(other.isDirty());
+		assertEquals("[[\"v\"]]", other.toJSONString());
+
+		root.toJSONString();
+		for (Iterator<Object> it = other.iterator(); it.hasNext();) {
+			it.next();
+			it.remove();
+		}
+		assertTrue(other.isDirty());
+		assertEquals("[]", other.toJSONString());
+		shared.add("w");
+		assertFalse(other.isDirty());
+		assertTrue(root.isDirty());
+	}
+
+	public void testArrayOps() throws Exception {
+		JSONTrackedArray a = new JSONTrackedArray();
+		a.add(1);
+		a.add(2);
+		a.add(3);
+		assertEquals("[1,2,3]", a.toJSONString());
+		a.set(0, 0);
+		assertEquals("[0,2,3]", a.toJSONString());
+		a.remove(Integer.valueOf(2));
+		assertEquals("[0,3]", a.toJSONString());
+		a.retainAll(java.util.Collections.singleton(3));
+		assertEquals("[3]", a.toJSONString());
+		a.clear();
+		assertEquals("[]", a.toJSONString());
+	}
+
+	public void testStyles() throws Exception {
+		JSONTrackedObject root = (JSONTrackedObject) JSONValue.parseTracked(DOC);
+		JSONObject plain = (JSONObject) JSONValue.parse(DOC);
+		assertEquals(plain.toJSONString(JSONStyle.MAX_COMPRESS), root.toJSONString(JSONStyle.MAX_COMPRESS));
+		assertEquals(plain.toJSONString(), root.toJSONString());
+		JSONStyleIdent ident = new JSONStyleIdent();
+		assertEquals(plain.toJSONString(ident), root.toJSONString(ident));
+	}
+
+	public void testSerializable() throws Exception {
+		JSONTrackedObject root = (JSONTrackedObject) JSONValue.parseTracked(DOC);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(root);
+		out.close();
+		root = (JSONTrackedObject) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		root.toJSONString();
+		((JSONTrackedArray) root.get("f")).add(5);
+		assertTrue(root.isDirty());
+	}
+
+	public void testKeepingSource() throws Exception {
+		String src = "{ \"a\" : { \"b\" : [ 1.0e2, \"\\u0041\" ] , \"c\":{ } },\n  \"d\" : [ 1 , 2 ] }";
+		JSONTrackedObject root = (JSONTrackedObject) JSONValue.parseKeepingSource(src);
+		assertFalse(root.isDirty());
+		assertEquals(src, root.toJSONString());
+		assertEquals(src, JSONValue.toJSONString(root, JSONStyle.MAX_COMPRESS));
+
+		JSONTrackedObject a = (JSONTrackedObject) root.get("a");
+		a.put("e", true);
+		assertTrue(root.isDirty());
+		assertFalse(((JSONTrackedArray) root.get("d")).isDirty());
+		String text = root.toJSONString();
+		assertTrue(text, text.contains("\"d\":[ 1 , 2 ]"));
+		assertTrue(text, text.contains("\"b\":[ 1.0e2, \"\\u0041\" ]"));
+		assertTrue(text, text.contains("\"c\":{ }"));
+		assertTrue(text, text.contains("\"e\":true"));
+		assertEquals(JSONValue.parse(text), root);
+	}
+
+	public void testKeepingSourceGranularity() throws Exception {
+		String src = "{\"s\":\"\\u00e9\",\"mid\":{\"x\":1.0e2,\"y\":[1.50,{\"z\":1}]}}";
+		JSONTrackedObject root = (JSONTrackedObject) JSONValue.parseKeepingSource(src);
+		JSONTrackedArray y = (JSONTrackedArray) ((JSONTrackedObject) root.get("mid")).get("y");
+		((JSONTrackedObject) y.get(1)).put("z", 2);
+		// modified containers and their parents are serialized with their
+		// scalar values
+		String text = root.toJSONString();
+		assertTrue(text, text.contains("\"s\":\"\u00e9\""));
+		assertTrue(text, text.contains("\"x\":100.0"));
+		assertTrue(text, text.contains("\"y\":[1.5,{\"z\":2}]"));
+	}
+
+	public void testKeepingSourcePermissive() throws Exception {
+		String src = "{a:'x', b:[1,2,], c:NaN, d:[ 01 ]}";
+		Object o = JSONValue.parseKeepingSource(src);
+		assertTrue(o instanceof JSONTrackedObject);
+		// permissive syntax is not copied to the output
+		assertEquals(JSONValue.toJSONString(JSONValue.parse(src)), JSONValue.toJSONString(o));
+		assertEquals("[1,2]", ((JSONTrackedObject) o).get("b").toString());
+		// strict input is still copied
+		String strict = "{\"b\" : [ 1, 2 ]}";
+		assertEquals(strict, JSONValue.toJSONString(JSONValue.parseKeepingSource(strict)));
+	}
+}
@@ -0,0 +1,85 @@
+package net.minidev.json.test.writer;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+import net.minidev.json.reader.JsonWriter;
+
+public class TestBeanWriter extends TestCase {
+
+	public static class Base {
+		public int id = 1;
+		private String hidden = "h";
+	}
+
+	public static class Item extends Base {
+		public String name;
+		private boolean active = true;
+		private Boolean flag;
+		private int noGetter = 5;
+		public transient int skipped = 3;
+		public final int constant = 4;
+
+		public boolean isActive() {
+			return active;
+		}
+
+		public Boolean getFlag() {
+			return flag;
+		}
+	}
+
+	public void testFields() throws Exception {
+		Item item = new Item();
+		item.name = "a b";
+		JSONObject o = (JSONObject) JSONValue.parse(JSONValue.toJSONString(item));
+		assertEquals(4, o.size());
+		assertEquals("a b", o.get("name"));
+		assertEquals(Boolean.TRUE, o.get("active"));
+		assertTrue(o.containsKey("flag"));
+		assertEquals(1, o.get("id"));
+	}
+
+	public void testStyles() throws Exception {
+		Item item = new Item();
+		String s = JSONValue.toJSONString(item, JSONStyle.MAX_COMPRESS);
+		// cached plan, encoded keys switch with the style
+		assertEquals(s, JSONValue.toJSONString(item, JSONStyle.MAX_COMPRESS));
+		assertFalse(s.contains("\""));
+		assertFalse(s.contains("name"));
+		String s2 = JSONValue.toJSONString(item, JSONStyle.NO_COMPRESS);
+		assertTrue(s2.contains("\"name\":null"));
+		assertEquals(JSONValue.parse(s2), JSONValue.parse(JSONValue.toJSONString(item, JSONStyle.NO_COMPRESS)));
+	}
+
+	public static class Primitives {
+		public long l = Long.MIN_VALUE;
+		public int i = -3;
+		public short s = 7;
+		public byte b = 1;
+		public boolean t = true;
+		public double d = 1.5;
+		public float f = 2.5f;
+		public String str;
+		public Object o;
+	}
+
+	public void testPrimitives() throws Exception {
+		Primitives p = new Primitives();
+		JSONObject o = (JSONObject) JSONValue.parse(JSONValue.toJSONString(p));
+		assertEquals(Long.MIN_VALUE, o.get("l"));
+		assertEquals(-3, o.get("i"));
+		assertEquals(7, o.get("s"));
+		assertEquals(1, o.get("b"));
+		assertEquals(Boolean.TRUE, o.get("t"));
+		assertEquals(1.5, o.get("d"));
+		assertEquals(2.5, o.get("f"));
+		assertTrue(o.containsKey("str"));
+		assertNull(o.get("str"));
+		String s = JSONValue.toJSONString(p, new JSONStyle(JSONStyle.FLAG_IGNORE_NULL));
+		assertFalse(s.contains("str"));
+		assertTrue(s.contains("\"l\":-9223372036854775808"));
+		assertSame(JsonWriter.getBeanWriter(Primitives.class), JSONValue.defaultWriter.getWrite(Primitives.class));
+	}
+}
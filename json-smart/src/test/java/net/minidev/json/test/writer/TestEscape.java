@@ -0,0 +1,66 @@
+package net.minidev.json.test.writer;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+
+public class TestEscape extends TestCase {
+
+	/**
+	 * char by char reference implementation
+	 */
+	private static String reference(String s, boolean protect4Web) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < s.length(); i++) {
+			char ch = s.charAt(i);
+			switch (ch) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\b':
+				sb.append("\\b");
+				break;
+			case '\f':
+				sb.append("\\f");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (ch == '/' && protect4Web)
+					sb.append("\\/");
+				else if (ch <= '\u001F' || (ch >= '\u007F' && ch <= '\u009F') || (ch >= '\u2000' && ch <= '\u20FF'))
+					sb.append(String.format("\\u%04X", (int) ch));
+				else
+					sb.append(ch);
+			}
+		}
+		return sb.toString();
+	}
+
+	public void testAllChars() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (char c = 0; c < 0x2200; c++)
+			sb.append(c).append("ab");
+		String s = sb.toString();
+		assertEquals(reference(s, true), JSONValue.escape(s, JSONStyle.NO_COMPRESS));
+		assertEquals(reference(s, false), JSONValue.escape(s, JSONStyle.LT_COMPRESS));
+	}
+
+	public void testRuns() throws Exception {
+		String[] samples = { "", "plain", "\"", "a\"", "\"a", "a/b", "\n\n", "x y", "\u0001" };
+		for (String s : samples) {
+			assertEquals(reference(s, true), JSONValue.escape(s, JSONStyle.NO_COMPRESS));
+			assertEquals(reference(s, false), JSONValue.escape(s, JSONStyle.LT_COMPRESS));
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package net.minidev.json.test.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONGenerator;
+import net.minidev.json.JSONOrderedObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONStyleIdent;
+import net.minidev.json.JSONValue;
+
+public class TestGenerator extends TestCase {
+
+	private JSONOrderedObject tree() {
+		JSONOrderedObject o = new JSONOrderedObject();
+		o.put("name", "a \"b\"");
+		o.put("n", 12L);
+		o.put("d", 1.5);
+		o.put("f", 0.1f);
+		o.put("ok", true);
+		o.put("none", null);
+		JSONArray a = new JSONArray();
+		a.add(1L);
+		a.add(null);
+		a.add("x y");
+		a.add(new JSONArray());
+		o.put("list", a);
+		o.put("empty", new JSONOrderedObject());
+		return o;
+	}
+
+	private void generate(JSONGenerator g) throws Exception {
+		g.startObject();
+		g.key("name").value("a \"b\"");
+		g.key("n").value(12);
+		g.key("d").value(1.5);
+		g.key("f").value(0.1f);
+		g.key("ok").value(true);
+		g.key("none").nullValue();
+		g.key("list").startArray().value(1).nullValue().value("x y").startArray().endArray().endArray();
+		g.key("empty").startObject().endObject();
+		g.endObject();
+		g.close();
+	}
+
+	public void testSameAsTree() throws Exception {
+		JSONStyle[] styles = { JSONStyle.NO_COMPRESS, JSONStyle.MAX_COMPRESS, JSONStyle.LT_COMPRESS,
+				new JSONStyle(JSONStyle.FLAG_IGNORE_NULL), new JSONStyleIdent() };
+		for (JSONStyle style : styles) {
+			StringBuilder sb = new StringBuilder();
+			generate(new JSONGenerator(sb, style));
+			assertEquals(JSONValue.toJSONString(tree(), style), sb.toString());
+		}
+	}
+
+	public void testBytes() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JSONGenerator g = JSONGenerator.utf8(out);
+		g.startArray().value("été").value(tree()).endArray().close();
+		assertEquals("[\"été\"," + tree().toJSONString() + "]", new String(out.toByteArray(), "UTF-8"));
+	}
+
+	public void testLarge() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		JSONGenerator g = new JSONGenerator(sb, JSONStyle.MAX_COMPRESS);
+		g.startArray();
+		for (int i = 0; i < 10000; i++)
+			g.startObject().key("i").value(i).endObject();
+		g.endArray().close();
+		JSONArray a = (JSONArray) JSONValue.parse(sb.toString());
+		assertEquals(10000, a.size());
+	}
+
+	public void testMisuse() throws Exception {
+		JSONGenerator g = new JSONGenerator(new StringBuilder());
+		g.startObject();
+		try {
+			g.value(1);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		try {
+			g.endArray();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		g.key("a");
+		try {
+			g.endObject();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		g.value(1).endObject();
+		try {
+			g.value(2);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		g = new JSONGenerator(new StringBuilder());
+		g.startArray();
+		try {
+			g.close();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+	}
+
+	public void testPrintStream() throws Exception {
+		PrintStream stdout = System.out;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(bytes, false, "UTF-8"));
+		try {
+			// PrintStream is both an OutputStream and an Appendable
+			new JSONGenerator(System.out).startArray().value("é").endArray().close();
+			JSONGenerator.utf8(System.out).startArray().value("é").endArray().close();
+			System.out.flush();
+		} finally {
+			System.setOut(stdout);
+		}
+		assertEquals("[\"é\"][\"é\"]", new String(bytes.toByteArray(), "UTF-8"));
+	}
+}
@@ -0,0 +1,60 @@
+package net.minidev.json.test.writer;
+
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONValue;
+import net.minidev.json.reader.JsonOutput;
+
+public class TestJsonOutput extends TestCase {
+
+	public void testLong() throws Exception {
+		long[] values = { 0, 7, -7, 10, 99, -100, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+		for (long v : values) {
+			JsonOutput out = new JsonOutput();
+			out.writeLong(v);
+			assertEquals(Long.toString(v), out.toString());
+		}
+	}
+
+	public void testFlush() throws Exception {
+		StringBuilder expected = new StringBuilder();
+		StringBuilder sb = new StringBuilder();
+		JsonOutput out = new JsonOutput(sb, 20);
+		for (int i = 0; i < 50; i++) {
+			out.write("abc");
+			out.append('-');
+			out.writeLong(-123456789L * i);
+			expected.append("abc-").append(-123456789L * i);
+		}
+		out.append(expected, 0, 3);
+		expected.append("abc");
+		out.flush();
+		assertEquals(expected.toString(), sb.toString());
+	}
+
+	public void testTargets() throws Exception {
+		JSONObject o = new JSONObject();
+		JSONArray a = new JSONArray();
+		a.add(1);
+		a.add(-2L);
+		a.add((short) 3);
+		a.add(new int[] { 4, -5 });
+		a.add(new long[] { Long.MIN_VALUE });
+		o.put("a", a);
+		o.put("s", "text");
+		String s = "{\"a\":[1,-2,3,[4,-5],[-9223372036854775808]],\"s\":\"text\"}";
+		assertEquals(s, JSONValue.toJSONString(o));
+		StringWriter w = new StringWriter();
+		JSONValue.writeJSONString(o, w);
+		assertEquals(s, w.toString());
+		StringBuffer sb = new StringBuffer();
+		o.writeJSONString(sb);
+		assertEquals(s, sb.toString());
+		sb.setLength(0);
+		a.writeJSONString(sb);
+		assertEquals("[1,-2,3,[4,-5],[-9223372036854775808]]", sb.toString());
+	}
+}
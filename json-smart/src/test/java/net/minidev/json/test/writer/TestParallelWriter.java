@@ -0,0 +1,135 @@
+package net.minidev.json.test.writer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONOrderedObject;
+import net.minidev.json.JSONStreamAwareEx;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONStyleIdent;
+import net.minidev.json.JSONValue;
+import net.minidev.json.reader.ParallelWriter;
+
+public class TestParallelWriter extends TestCase {
+	private ExecutorService executor;
+	private ParallelWriter writer;
+
+	protected void setUp() {
+		executor = Executors.newFixedThreadPool(4);
+		writer = new ParallelWriter(executor, 10, 7);
+	}
+
+	protected void tearDown() {
+		executor.shutdown();
+	}
+
+	private void check(Object value, JSONStyle style) throws IOException {
+		assertEquals(JSONValue.toJSONString(value, style), writer.toJSONString(value, style));
+		StringBuilder sb = new StringBuilder();
+		writer.writeJSONString(value, sb, style);
+		assertEquals(JSONValue.toJSONString(value, style), sb.toString());
+	}
+
+	public void testArray() throws Exception {
+		JSONArray a = new JSONArray();
+		for (int i = 0; i < 1000; i++) {
+			JSONObject o = new JSONObject();
+			o.put("i", i);
+			o.put("s", "v " + i);
+			a.add(i % 3 == 0 ? null : o);
+		}
+		check(a, JSONStyle.NO_COMPRESS);
+		check(a, JSONStyle.MAX_COMPRESS);
+		check(a, new JSONStyleIdent());
+		check(a.toArray(), JSONStyle.NO_COMPRESS);
+		check(a.freeze(), JSONStyle.NO_COMPRESS);
+	}
+
+	public void testMap() throws Exception {
+		JSONOrderedObject o = new JSONOrderedObject();
+		for (int i = 0; i < 500; i++)
+			o.put("k" + i, i < 100 ? null : (Object) ("v" + i));
+		JSONStyle ignoreNull = new JSONStyle(JSONStyle.FLAG_IGNORE_NULL);
+		check(o, JSONStyle.NO_COMPRESS);
+		check(o, ignoreNull);
+		check(new JSONObject(o), ignoreNull);
+		check(JSONValue.freeze(o), JSONStyle.MAX_COMPRESS);
+	}
+
+	public void testSmall() throws Exception {
+		List<Object> l = new ArrayList<Object>();
+		check(l, JSONStyle.NO_COMPRESS);
+		l.add("a");
+		check(l, JSONStyle.NO_COMPRESS);
+		check(new JSONObject(), JSONStyle.NO_COMPRESS);
+		check("text", JSONStyle.NO_COMPRESS);
+		check(null, JSONStyle.NO_COMPRESS);
+	}
+
+	public void testError() throws Exception {
+		List<Object> l = new ArrayList<Object>();
+		for (int i = 0; i < 100; i++)
+			l.add(i);
+		l.add(new JSONStreamAwareEx() {
+			public void writeJSONString(Appendable out) throws IOException {
+				throw new IOException("bad value");
+			}
+
+			public void writeJSONString(Appendable out, JSONStyle compression) throws IOException {
+				throw new IOException("bad value");
+			}
+		});
+		try {
+			writer.toJSONString(l, JSONStyle.NO_COMPRESS);
+			fail();
+		} catch (IOException e) {
+			assertEquals("bad value", e.getMessage());
+		}
+	}
+
+	private static JSONArray sample() {
+		JSONArray a = new JSONArray();
+		for (int i = 0; i < 100; i++)
+			a.add("v" + i);
+		return a;
+	}
+
+	public void testRejected() throws Exception {
+		// one thread, no queue: most ranges are rejected
+		ExecutorService small = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+				new SynchronousQueue<Runnable>());
+		try {
+			JSONArray a = sample();
+			assertEquals(a.toJSONString(), new ParallelWriter(small, 10, 7).toJSONString(a,
+					JSONStyle.NO_COMPRESS));
+		} finally {
+			small.shutdown();
+		}
+	}
+
+	public void testSameExecutor() throws Exception {
+		// the only executor thread is busy writing, ranges run inline
+		final ExecutorService single = Executors.newSingleThreadExecutor();
+		try {
+			final JSONArray a = sample();
+			String s = single.submit(new Callable<String>() {
+				public String call() throws IOException {
+					return new ParallelWriter(single, 10, 7).toJSONString(a, JSONStyle.NO_COMPRESS);
+				}
+			}).get(10, TimeUnit.SECONDS);
+			assertEquals(a.toJSONString(), s);
+		} finally {
+			single.shutdown();
+		}
+	}
+}
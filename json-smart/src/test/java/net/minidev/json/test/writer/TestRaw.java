@@ -0,0 +1,78 @@
+package net.minidev.json.test.writer;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONFrozenArray;
+import net.minidev.json.JSONFrozenObject;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONRaw;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONStyleIdent;
+import net.minidev.json.JSONValue;
+import net.minidev.json.parser.ParseException;
+
+public class TestRaw extends TestCase {
+	public void testRaw() throws Exception {
+		JSONObject o = new JSONObject();
+		o.put("raw", new JSONRaw("{\"a\" : [1, 2]}"));
+		assertEquals("{\"raw\":{\"a\" : [1, 2]}}", o.toJSONString());
+		assertEquals("{raw:{\"a\" : [1, 2]}}", o.toJSONString(JSONStyle.MAX_COMPRESS));
+		JSONArray a = new JSONArray();
+		a.add(JSONRaw.parse("\"x\""));
+		a.add(new JSONRaw("null"));
+		assertEquals("[\"x\",null]", JSONValue.toJSONString(a));
+		assertSame(a.get(0), JSONValue.freeze(a.get(0)));
+	}
+
+	public void testRawCheck() throws Exception {
+		assertEquals(new JSONRaw("[1]"), JSONRaw.parse("[1]"));
+		try {
+			JSONRaw.parse("{a:1}");
+			fail();
+		} catch (ParseException e) {
+		}
+	}
+
+	public void testCache() throws Exception {
+		JSONObject o = new JSONObject();
+		o.put("k", "v");
+		JSONArray a = new JSONArray();
+		a.add(1);
+		a.add(o);
+		JSONFrozenArray fa = a.freeze().cacheJSON();
+		String text = fa.toJSONString();
+		assertSame(text, fa.toJSONString());
+		assertEquals(a.toJSONString(JSONStyle.MAX_COMPRESS), fa.toJSONString(JSONStyle.MAX_COMPRESS));
+		assertEquals(text, fa.toJSONString(JSONValue.COMPRESSION));
+
+		JSONObject doc = new JSONObject();
+		doc.put("catalog", fa);
+		assertEquals("{\"catalog\":" + text + "}", doc.toJSONString());
+		StringBuilder sb = new StringBuilder();
+		fa.writeJSONString(sb);
+		assertEquals(text, sb.toString());
+
+		JSONStyleIdent ident = new JSONStyleIdent();
+		JSONObject nested = new JSONObject();
+		nested.put("l", a);
+		JSONObject frozenNested = new JSONObject();
+		frozenNested.put("l", fa);
+		assertEquals(nested.toJSONString(ident), frozenNested.toJSONString(ident));
+
+		JSONFrozenArray fa2 = fa.with(0, 2);
+		assertEquals("[2,{\"k\":\"v\"}]", fa2.toJSONString());
+		assertSame(fa2.toJSONString(), fa2.toJSONString());
+	}
+
+	public void testCacheObject() throws Exception {
+		JSONObject o = new JSONObject();
+		o.put("k", "v");
+		JSONFrozenObject fo = o.freeze();
+		assertNotSame(fo.toJSONString(), fo.toJSONString());
+		fo.cacheJSON();
+		assertSame(fo.toJSONString(), fo.toJSONString());
+		JSONFrozenObject fo2 = fo.with("k", "w");
+		assertEquals("{\"k\":\"w\"}", fo2.toJSONString());
+		assertSame(fo2.toJSONString(), fo2.toJSONString());
+	}
+}
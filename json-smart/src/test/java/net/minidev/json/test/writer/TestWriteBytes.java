@@ -0,0 +1,54 @@
+package net.minidev.json.test.writer;
+
+import java.io.ByteArrayOutputStream;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+import net.minidev.json.reader.Utf8Writer;
+
+public class TestWriteBytes extends TestCase {
+
+	public void testSameAsString() throws Exception {
+		JSONObject o = new JSONObject();
+		o.put("ascii", "plain text");
+		o.put("latin", "été");
+		o.put("cjk", "東京");
+		o.put("emoji", "a😀b");
+		o.put("ctrl", "\n\t\"");
+		JSONArray a = new JSONArray();
+		a.add(1);
+		a.add(2.5);
+		a.add(null);
+		o.put("a", a);
+		for (JSONStyle style : new JSONStyle[] { JSONStyle.NO_COMPRESS, JSONStyle.MAX_COMPRESS, JSONStyle.LT_COMPRESS }) {
+			byte[] expected = JSONValue.toJSONString(o, style).getBytes("UTF-8");
+			assertTrue(java.util.Arrays.equals(expected, JSONValue.toJSONBytes(o, style)));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			JSONValue.writeJSONBytes(o, out, style);
+			assertTrue(java.util.Arrays.equals(expected, out.toByteArray()));
+		}
+	}
+
+	public void testSmallBuffer() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++)
+			sb.append("xé東😀");
+		String s = sb.toString();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Utf8Writer w = new Utf8Writer(out, 5);
+		w.append(s);
+		for (int i = 0; i < s.length(); i++)
+			w.append(s.charAt(i));
+		w.flush();
+		assertEquals(s + s, new String(out.toByteArray(), "UTF-8"));
+	}
+
+	public void testUnpairedSurrogate() throws Exception {
+		Utf8Writer w = new Utf8Writer();
+		w.append("a\ud83db\ude00c\ud83d");
+		assertEquals("a?b?c?", new String(w.toByteArray(), "UTF-8"));
+	}
+}
@@ -0,0 +1,67 @@
+package net.minidev.json.test.writer;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONValue;
+import net.minidev.json.reader.JsonOutput;
+
+public class TestWriteNumbers extends TestCase {
+	static String write(double d) throws Exception {
+		JsonOutput out = new JsonOutput();
+		out.writeDouble(d);
+		return out.toString();
+	}
+
+	static String write(float f) throws Exception {
+		JsonOutput out = new JsonOutput();
+		out.writeFloat(f);
+		return out.toString();
+	}
+
+	public void testDoubleLayout() throws Exception {
+		double[] values = { 0.0, -0.0, 1.0, -1.0, 100.0, 1.5, -2.25, 0.001, 0.0012, 1e-4, 1.5e-7, 1234567.0,
+				1e7, 12345678.0, 1e15, 9007199254740991.0, 1e20, 1.0E-10, 0.1, 0.3, 123.456, 3.141592653589793,
+				Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY };
+		for (double d : values)
+			assertEquals(Double.toString(d), write(d));
+	}
+
+	public void testFloatLayout() throws Exception {
+		float[] values = { 0f, -0f, 1f, 1.5f, 0.1f, 0.3f, 123.456f, 1e-4f, 1e7f, 3.4028235E38f, Float.MIN_VALUE, 16777215f,
+				Float.NaN };
+		for (float f : values)
+			assertEquals(Float.toString(f), write(f));
+	}
+
+	public void testRoundTrip() throws Exception {
+		Random r = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			double d = Double.longBitsToDouble(r.nextLong());
+			if (Double.isNaN(d))
+				continue;
+			assertEquals(d, Double.parseDouble(write(d)));
+			float f = Float.intBitsToFloat(r.nextInt());
+			if (Float.isNaN(f))
+				continue;
+			assertEquals(f, Float.parseFloat(write(f)));
+		}
+	}
+
+	public void testShortDecimals() throws Exception {
+		Random r = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			// typical payload values, few digits
+			double d = r.nextInt(100000000) / Math.pow(10, r.nextInt(12));
+			assertEquals(Double.toString(d), write(d));
+			float f = r.nextInt(100000) / (float) Math.pow(10, r.nextInt(6));
+			assertEquals(f, Float.parseFloat(write(f)));
+		}
+	}
+
+	public void testWriter() throws Exception {
+		assertEquals("[1.5,null,-0.25]", JSONValue.toJSONString(new Object[] { 1.5, Double.POSITIVE_INFINITY, -0.25f }));
+		assertEquals("[0.1,1.0E10]", JSONValue.toJSONString(new double[] { 0.1, 1e10 }));
+		assertEquals("[0.1,2.5]", JSONValue.toJSONString(new float[] { 0.1f, 2.5f }));
+	}
+}
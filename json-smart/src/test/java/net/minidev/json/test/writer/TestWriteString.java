@@ -0,0 +1,94 @@
+package net.minidev.json.test.writer;
+
+import java.io.IOException;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONObject;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+
+public class TestWriteString extends TestCase {
+	String[] samples = { "", " ", "a", "a b", " a", "a ", "abc", "null", "true", "false", "NaN", "nul", "1", "-1",
+			"12", "1.5", "1e5", "1E+5", "1e+", "1e", "1.", "1a", "-a", "a1", "a,b", "a:b", "{a", "a{", "[a", "a]", "a}",
+			"'a", "a'", "\"a", "a\"", "a\"b", "a\\b", "a/b", "/", "\\", "a\nb", "a\tb", "a\bb", "\u0001", "a\u007Fb",
+			"\u0090", "a b", "été", "東京", "a " };
+
+	/**
+	 * same flags, forced on the mustProtect + escape path
+	 */
+	static class SlowStyle extends JSONStyle {
+		SlowStyle(int flag) {
+			super(flag);
+		}
+
+		public boolean mustProtectKey(String s) {
+			return super.mustProtectKey(s);
+		}
+
+		public boolean mustProtectValue(String s) {
+			return super.mustProtectValue(s);
+		}
+	}
+
+	public void testSamePass() throws Exception {
+		for (int flag = 0; flag < 32; flag++) {
+			JSONStyle fast = new JSONStyle(flag);
+			JSONStyle slow = new SlowStyle(flag);
+			for (String s : samples) {
+				StringBuilder sb1 = new StringBuilder();
+				StringBuilder sb2 = new StringBuilder();
+				fast.writeString(sb1, s);
+				slow.writeString(sb2, s);
+				assertEquals("value " + s + " flag " + flag, sb2.toString(), sb1.toString());
+				sb1.setLength(0);
+				sb2.setLength(0);
+				// twice to hit the key cache
+				fast.writeKey(sb1, s);
+				fast.writeKey(sb1, s);
+				slow.writeKey(sb2, s);
+				slow.writeKey(sb2, s);
+				assertEquals("key " + s + " flag " + flag, sb2.toString(), sb1.toString());
+			}
+		}
+	}
+
+	/**
+	 * escape overridden, used for keys and values
+	 */
+	static class XStyle extends JSONStyle {
+		public void escape(String s, Appendable out) {
+			try {
+				out.append("X");
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	public void testCustomEscape() throws Exception {
+		JSONObject obj = new JSONObject();
+		obj.put("k\"", "v\"");
+		assertEquals("{\"X\":\"X\"}", obj.toJSONString(new XStyle()));
+		assertEquals("{\"X\":\"X\"}", JSONValue.toJSONString(obj, new XStyle()));
+	}
+
+	public void testKeyCache() throws Exception {
+		JSONStyle style = new JSONStyle(JSONStyle.FLAG_PROTECT_KEYS);
+		// colliding keys must not share encodings
+		for (int i = 0; i < 1000; i++) {
+			String k = "k" + i;
+			StringBuilder sb = new StringBuilder();
+			style.writeKey(sb, k);
+			assertEquals(k, sb.toString());
+		}
+		// same keys quoted, cached by value
+		for (int i = 0; i < 1000; i++) {
+			String k = "k" + i;
+			StringBuilder sb = new StringBuilder();
+			JSONStyle.NO_COMPRESS.writeKey(sb, k);
+			JSONStyle.NO_COMPRESS.writeKey(sb, new String(k));
+			assertEquals("\"" + k + "\"\"" + k + "\"", sb.toString());
+		}
+		assertEquals("{a:1}", JSONValue.toJSONString(JSONValue.parse("{\"a\":1}"), JSONStyle.MAX_COMPRESS));
+	}
+}
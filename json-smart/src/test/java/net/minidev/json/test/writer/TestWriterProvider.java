@@ -0,0 +1,92 @@
+package net.minidev.json.test.writer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import junit.framework.TestCase;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONUtil;
+import net.minidev.json.JSONValue;
+import net.minidev.json.reader.JsonWriter;
+import net.minidev.json.reader.JsonWriterI;
+import net.minidev.json.reader.JsonWriterProvider;
+
+public class TestWriterProvider extends TestCase {
+	public static class Point {
+		public int x = 1;
+		public int y = 2;
+	}
+
+	/**
+	 * listed in META-INF/services, like generated writers
+	 */
+	public static class Provider implements JsonWriterProvider, JsonWriterI<Point> {
+		public void registerWriters(JsonWriter writer) {
+			writer.registerWriter(this, Point.class);
+		}
+
+		public <E extends Point> void writeJSONString(E value, Appendable out, JSONStyle compression)
+				throws IOException {
+			out.append('[');
+			JsonWriter.writeLong(value.x, out);
+			out.append(',');
+			JsonWriter.writeLong(value.y, out);
+			out.append(']');
+		}
+	}
+
+	public void testServiceWriter() throws Exception {
+		assertEquals("[1,2]", JSONValue.toJSONString(new Point()));
+		assertTrue(new JsonWriter().getWrite(Point.class) instanceof Provider);
+	}
+
+	public void testBadEntry() throws Exception {
+		File dir = File.createTempFile("providers", "");
+		dir.delete();
+		File services = new File(dir, "META-INF/services");
+		services.mkdirs();
+		File f = new File(services, JsonWriterProvider.class.getName());
+		FileWriter w = new FileWriter(f);
+		w.write("# test\nno.such.Provider\n" + Provider.class.getName() + "\n");
+		w.close();
+		final List<LogRecord> records = new ArrayList<LogRecord>();
+		Handler h = new Handler() {
+			public void publish(LogRecord record) {
+				records.add(record);
+			}
+
+			public void flush() {
+			}
+
+			public void close() {
+			}
+		};
+		Logger log = Logger.getLogger("net.minidev.json");
+		log.addHandler(h);
+		log.setUseParentHandlers(false);
+		try {
+			ClassLoader loader = new URLClassLoader(new URL[] { dir.toURI().toURL() }, getClass().getClassLoader());
+			List<JsonWriterProvider> providers = JSONUtil.loadServices(JsonWriterProvider.class, loader);
+			// listed twice, created once
+			assertEquals(1, providers.size());
+			assertTrue(providers.get(0) instanceof Provider);
+			assertEquals(1, records.size());
+			assertTrue(records.get(0).getMessage().indexOf("no.such.Provider") > 0);
+		} finally {
+			log.removeHandler(h);
+			log.setUseParentHandlers(true);
+			f.delete();
+			services.delete();
+			services.getParentFile().delete();
+			dir.delete();
+		}
+	}
+}